@@ -0,0 +1,50 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.mertso13.taskmanagerapi.TaskmanagerapiApplication;
+
+// Boots the real application against a private in-memory H2 database for a benchmark trial.
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... extraArgs) {
+        String[] args = Stream.concat(Stream.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"),
+            Stream.of(extraArgs)).toArray(String[]::new);
+        return new SpringApplicationBuilder(TaskmanagerapiApplication.class).run(args);
+    }
+
+    // Plain JDBC batches, so seeding a million rows does not dominate the trial setup.
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= rows; id++) {
+            batch.add(new Object[] { id, "task " + id, "benchmark description " + id, "TODO", now, now });
+            if (batch.size() == 10_000 || id == rows) {
+                jdbc.batchUpdate("""
+                    insert into tasks (id, name, description, status, created_at, updated_at, version)
+                    values (?, ?, ?, ?, ?, ?, 0)
+                    """, batch);
+                batch.clear();
+            }
+        }
+        // Move the sequence past the seeded ids; the pooled optimizer hands out the 50 values
+        // below each sequence value, hence the extra headroom.
+        jdbc.execute("alter sequence tasks_seq restart with " + (rows + 100));
+    }
+}
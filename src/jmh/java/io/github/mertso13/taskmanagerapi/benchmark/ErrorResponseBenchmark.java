@@ -0,0 +1,52 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import io.github.mertso13.taskmanagerapi.exception.GlobalExceptionHandler;
+import jakarta.persistence.EntityNotFoundException;
+import tools.jackson.databind.json.JsonMapper;
+
+// Builds and renders the error bodies GlobalExceptionHandler returns, as a client would receive them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/tasks/42"));
+
+    @Benchmark
+    public byte[] notFound() {
+        return mapper.writeValueAsBytes(
+            handler.handleNotFound(new EntityNotFoundException("Task not found: 42"), request).getBody());
+    }
+
+    @Benchmark
+    public byte[] badRequest() {
+        return mapper.writeValueAsBytes(
+            handler.handleBadRequest(new IllegalArgumentException("Task id must be a positive number."), request).getBody());
+    }
+
+    @Benchmark
+    public byte[] internalError() {
+        return mapper.writeValueAsBytes(
+            handler.handleGlobalException(new IllegalStateException("boom"), request).getBody());
+    }
+}
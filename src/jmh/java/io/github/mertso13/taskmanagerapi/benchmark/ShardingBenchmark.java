@@ -0,0 +1,115 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+
+// Throughput of the sharded service with 1, 2 and 4 shards under 16 concurrent callers. Each
+// shard is its own in-memory H2 database with its own pool, so writes to different shards do
+// not contend on the same table and locks.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardingBenchmark {
+
+    private static final int SEEDED_TASKS = 20_000;
+
+    @Param({ "1", "2", "4" })
+    public int shards;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("sharding-" + shards,
+            "--task.sharding.enabled=true",
+            "--task.sharding.count=" + shards,
+            "--task.sharding.url=jdbc:h2:mem:sharding-" + shards + "-{shard};DB_CLOSE_DELAY=-1",
+            "--task.cache.enabled=false");
+        taskService = context.getBean(TaskService.class);
+
+        // Seeded through the service so the ids are spread and shard-encoded like real ones.
+        List<Long> seeded = new ArrayList<>(SEEDED_TASKS);
+        for (int batch = 0; batch < SEEDED_TASKS / 1000; batch++) {
+            List<Task> tasks = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                Task task = new Task();
+                task.setName("task " + (batch * 1000 + i));
+                task.setDescription("benchmark description");
+                tasks.add(task);
+            }
+            taskService.createTasks(tasks).stream().map(BatchItemResult::getTask).forEach(task -> seeded.add(task.getId()));
+        }
+        ids = seeded.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        Task task = new Task();
+        task.setName("benchmark task");
+        task.setDescription("created by ShardingBenchmark");
+        return taskService.createTask(task);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task update = new Task();
+        update.setStatus(ThreadLocalRandom.current().nextBoolean() ? TaskStatus.IN_PROGRESS : TaskStatus.DONE);
+        try {
+            return taskService.updateTask(randomId(), update);
+        } catch (OptimisticLockingFailureException ex) {
+            // Two callers picked the same task; over HTTP the loser would get 409.
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Task getTaskByID() {
+        return taskService.getTaskByID(randomId());
+    }
+
+    // Scatter-gather: every shard returns a page and the pages are merged.
+    @Benchmark
+    public TaskPage getTasks() {
+        return taskService.getTasks(null, 50);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mertso13.taskmanagerapi.config.BinaryFormats;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// Cost of each response format for a task list: encode, decode, and encode + gzip at the level the
+// compression filter would use. The payload sizes are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskFormatBenchmark {
+
+    private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "1", "1000", "100000" })
+    public int size;
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "1", "6" })
+    public int level;
+
+    private ObjectMapper mapper;
+    private List<Task> tasks;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "smile" -> BinaryFormats.smileMapper();
+            case "cbor" -> BinaryFormats.cborMapper();
+            default -> JsonMapper.builder().build();
+        };
+        tasks = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            tasks.add(TaskJsonBenchmark.task(id));
+        }
+        encoded = mapper.writeValueAsBytes(tasks);
+        System.out.printf(Locale.ROOT, "%n%s size=%d: %d bytes, gzip level %d: %d bytes%n", format, size,
+            encoded.length, level, gzip(encoded, level).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> deserialize() {
+        return mapper.readValue(encoded, TASK_LIST);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(tasks), level);
+    }
+
+    static byte[] gzip(byte[] body, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    @Param({ "1", "1000", "100000" })
+    public int size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private Task task;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            tasks.add(task(id));
+        }
+        task = tasks.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() {
+        return mapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName("task " + id);
+        task.setDescription("A description that is about as long as the ones real users write, " + id);
+        task.setStatus(TaskStatus.values()[(int) (id % 3)]);
+        task.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(id));
+        task.setUpdatedAt(task.getCreatedAt());
+        task.setVersion(0L);
+        return task;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+
+// Cost of materialising the whole table, the reason GET /api/v1/tasks is paginated.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskRepositoryBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("repository-" + rows);
+        BenchmarkApplication.seed(context, rows);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return taskRepository.findAll();
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    @Param({ "true", "false" })
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("service-" + cache, "--task.cache.enabled=" + cache);
+        BenchmarkApplication.seed(context, SEEDED_TASKS);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        Task task = new Task();
+        task.setName("benchmark task");
+        task.setDescription("created by TaskServiceBenchmark");
+        return taskService.createTask(task);
+    }
+
+    @Benchmark
+    public Task getTaskByID() {
+        return taskService.getTaskByID(randomId());
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task update = new Task();
+        update.setStatus(ThreadLocalRandom.current().nextBoolean() ? TaskStatus.IN_PROGRESS : TaskStatus.DONE);
+        return taskService.updateTask(randomId(), update);
+    }
+
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(SEEDED_TASKS);
+    }
+}
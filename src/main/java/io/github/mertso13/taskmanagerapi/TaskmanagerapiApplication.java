@@ -2,10 +2,10 @@ package io.github.mertso13.taskmanagerapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
-@EnableWebMvc
+@ConfigurationPropertiesScan
 public class TaskmanagerapiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,50 @@
+package io.github.mertso13.taskmanagerapi.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.github.mertso13.taskmanagerapi.config.TaskClientProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Takes an admission permit before the controller runs and returns it when the response is complete.
+// For async handlers (write-behind create) preHandle runs again on the re-dispatch; the permit from
+// the first dispatch is kept, so the measured latency covers the whole request.
+@Component
+@ConditionalOnProperty(prefix = "task.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionLimiter admissionLimiter;
+    private final TaskClientProperties clientProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) == null) {
+            request.setAttribute(PERMIT_ATTRIBUTE,
+                admissionLimiter.acquire(kindOf(request), clientProperties.clientKey(request)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release(ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static AdmissionLimiter.Kind kindOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+            ? AdmissionLimiter.Kind.READ
+            : AdmissionLimiter.Kind.WRITE;
+    }
+}
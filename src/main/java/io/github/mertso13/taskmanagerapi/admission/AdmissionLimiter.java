@@ -0,0 +1,151 @@
+package io.github.mertso13.taskmanagerapi.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.mertso13.taskmanagerapi.config.TaskAdmissionProperties;
+import io.github.mertso13.taskmanagerapi.dto.AdmissionBudgetStats;
+import io.github.mertso13.taskmanagerapi.dto.AdmissionStats;
+import io.github.mertso13.taskmanagerapi.exception.ServiceUnavailableException;
+import io.github.mertso13.taskmanagerapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Admission control for the task endpoints. Reads and writes have separate budgets, each with an
+// adaptive concurrency limit (GradientLimit) fed by the latency of the requests it admitted. A
+// request over the limit is shed at once with 503 instead of queueing for a JDBC connection.
+// Optionally, each client also gets a token bucket; running it dry is a 429.
+@Component
+public class AdmissionLimiter implements MeterBinder {
+
+    public enum Kind { READ, WRITE }
+
+    private final TaskAdmissionProperties properties;
+    private final Map<Kind, Budget> budgets = new EnumMap<>(Kind.class);
+    private final Cache<String, TokenBucket> clients;
+    private final LongAdder clientRejections = new LongAdder();
+
+    public AdmissionLimiter(TaskAdmissionProperties properties) {
+        this.properties = properties;
+        budgets.put(Kind.READ, new Budget(properties.getRead(), properties));
+        budgets.put(Kind.WRITE, new Budget(properties.getWrite(), properties));
+        TaskAdmissionProperties.Client client = properties.getClient();
+        this.clients = client.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumSize(client.getMaxClients())
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build()
+            : null;
+    }
+
+    public Permit acquire(Kind kind, String clientKey) {
+        if (clients != null && clientKey != null) {
+            TaskAdmissionProperties.Client client = properties.getClient();
+            long now = System.nanoTime();
+            long waitNanos = clients.get(clientKey, key -> new TokenBucket(client.getBurst(), now))
+                .tryTake(client.getRequestsPerSecond(), client.getBurst(), now);
+            if (waitNanos > 0) {
+                clientRejections.increment();
+                throw new TooManyRequestsException("Request rate limit exceeded, please retry later.",
+                    Duration.ofNanos(waitNanos));
+            }
+        }
+        Budget budget = budgets.get(kind);
+        if (!budget.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many concurrent " + kind.name().toLowerCase(Locale.ROOT)
+                + " requests, please retry later.", properties.getRetryAfter());
+        }
+        return new Permit(budget, System.nanoTime());
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(properties.isEnabled(), budgets.get(Kind.READ).stats(), budgets.get(Kind.WRITE).stats(),
+            clientRejections.sum(), clients == null ? 0 : clients.estimatedSize());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        budgets.forEach((kind, budget) -> {
+            String tag = kind.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("tasks.admission.limit", budget.limit, GradientLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("budget", tag)
+                .register(registry);
+            Gauge.builder("tasks.admission.inflight", budget.inFlight, AtomicInteger::get)
+                .description("Admitted requests still running")
+                .tag("budget", tag)
+                .register(registry);
+            FunctionCounter.builder("tasks.admission.rejected", budget.rejected, LongAdder::sum)
+                .description("Requests rejected by admission control: 503 per budget, 429 for client")
+                .tag("budget", tag)
+                .register(registry);
+        });
+        FunctionCounter.builder("tasks.admission.rejected", clientRejections, LongAdder::sum)
+            .description("Requests rejected by admission control: 503 per budget, 429 for client")
+            .tag("budget", "client")
+            .register(registry);
+    }
+
+    public static final class Permit {
+
+        private final Budget budget;
+        private final long startNanos;
+
+        private Permit(Budget budget, long startNanos) {
+            this.budget = budget;
+            this.startNanos = startNanos;
+        }
+
+        public void release(boolean failed) {
+            budget.release(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private static final class Budget {
+
+        private final GradientLimit limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Budget(TaskAdmissionProperties.Budget budget, TaskAdmissionProperties properties) {
+            this.limit = new GradientLimit(budget.getInitialLimit(), budget.getMinLimit(), budget.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing());
+        }
+
+        boolean tryAcquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit.getLimit()) {
+                    rejected.increment();
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            accepted.increment();
+            return true;
+        }
+
+        void release(long rttNanos, boolean failed) {
+            // The in-flight count including this request is what the limit was tested against.
+            int running = inFlight.getAndDecrement();
+            limit.onSample(rttNanos, running, failed);
+        }
+
+        AdmissionBudgetStats stats() {
+            return new AdmissionBudgetStats(limit.getLimit(), inFlight.get(), accepted.sum(), rejected.sum(),
+                limit.getShortRttMillis(), limit.getLongRttMillis());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.mertso13.taskmanagerapi.admission;
+
+// Concurrency limit driven by latency, after the gradient limiters in Netflix's concurrency-limits.
+// The ratio of the long-term average RTT to the recent RTT scales the limit down once requests start
+// queueing (recent RTT rises), while a sqrt(limit) headroom term keeps probing upwards as long as
+// latency stays flat. Failed requests (5xx, timeouts) cut the limit multiplicatively, as in AIMD.
+final class GradientLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight, boolean failed) {
+        if (failed) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+        // After an overload the long average lags behind; let it come down faster once latency recovers.
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // Far below the limit, latency says nothing about where the limit should be.
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.clamp(limit * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized double getShortRttMillis() {
+        return shortRtt / 1_000_000;
+    }
+
+    synchronized double getLongRttMillis() {
+        return longRtt / 1_000_000;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.mertso13.taskmanagerapi.admission;
+
+final class TokenBucket {
+
+    private double tokens;
+    private long updatedNanos;
+
+    TokenBucket(int burst, long nowNanos) {
+        this.tokens = burst;
+        this.updatedNanos = nowNanos;
+    }
+
+    // Takes a token and returns 0, or returns the nanoseconds until one will be available.
+    synchronized long tryTake(double perSecond, int burst, long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - updatedNanos) * perSecond / 1_000_000_000d);
+        updatedNanos = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / perSecond * 1_000_000_000d);
+    }
+}
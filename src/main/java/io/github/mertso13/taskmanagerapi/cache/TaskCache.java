@@ -0,0 +1,76 @@
+package io.github.mertso13.taskmanagerapi.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.github.mertso13.taskmanagerapi.config.TaskCacheProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskCacheStats;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.routing.ReadRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Size- and TTL-bounded (W-TinyLFU) cache in front of single task reads.
+@Component
+public class TaskCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<Long, Task> cache;
+
+    public TaskCache(TaskCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    }
+
+    public Task get(Long id, Supplier<Task> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // Loaded from the primary: a lagging replica could put the row from before the last update
+        // back into the cache right after its eviction.
+        return cache.get(id, key -> ReadRouting.onPrimary(loader));
+    }
+
+    public Task getIfPresent(Long id) {
+        return enabled ? cache.getIfPresent(id) : null;
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    // Evicting after commit keeps a concurrent miss from reloading the pre-commit row.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() != TaskChangedEvent.Type.CREATED) {
+            evict(event.getTaskId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "tasks");
+    }
+
+    public TaskCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new TaskCacheStats(enabled, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+            stats.hitRate(), stats.evictionCount());
+    }
+}
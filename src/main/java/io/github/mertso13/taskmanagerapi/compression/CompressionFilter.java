@@ -0,0 +1,80 @@
+package io.github.mertso13.taskmanagerapi.compression;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.github.mertso13.taskmanagerapi.config.TaskCompressionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// gzip for large responses, with a configurable deflate level (Tomcat's own compression always
+// uses the default level 6). The first min-response-size bytes are buffered; a body that stays
+// smaller is sent uncompressed with its Content-Length. Runs outside the other filters, so stored
+// idempotent responses are compressed on replay like fresh ones.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "task.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+
+    public CompressionFilter(TaskCompressionProperties properties) {
+        if (properties.getLevel() < 1 || properties.getLevel() > 9) {
+            throw new IllegalArgumentException("task.compression.level must be between 1 and 9.");
+        }
+        this.threshold = (int) properties.getMinResponseSize().toBytes();
+        this.level = properties.getLevel();
+        this.mimeTypes = MediaType.parseMediaTypes(properties.getMimeTypes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod()) || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(response, threshold, level, this::isCompressible);
+        chain.doFilter(request, wrapper);
+        // Async handlers (the SSE feed) write later on their own thread; their event-stream type is
+        // never compressed, so the wrapper already passes those bytes straight through.
+        if (!request.isAsyncStarted()) {
+            wrapper.finish();
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return false;
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(candidate -> candidate.includes(type));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
+}
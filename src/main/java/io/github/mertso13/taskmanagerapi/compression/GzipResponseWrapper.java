@@ -0,0 +1,231 @@
+package io.github.mertso13.taskmanagerapi.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Holds back the body until it is larger than the threshold, then either switches to gzip or writes
+// through unchanged. A Content-Length set by the handler is kept until that decision, since it is
+// wrong once the body is compressed. Jackson flushes after every document, so a flush only commits
+// early for types that are never compressed, such as the SSE event stream.
+final class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int threshold;
+    private final int level;
+    private final Predicate<String> compressible;
+    private final ByteArrayOutputStream buffer;
+
+    private OutputStream target;
+    private ServletOutputStream container;
+    private GZIPOutputStream gzip;
+    private long contentLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    GzipResponseWrapper(HttpServletResponse response, int threshold, int level, Predicate<String> compressible) {
+        super(response);
+        this.threshold = threshold;
+        this.level = level;
+        this.compressible = compressible;
+        this.buffer = new ByteArrayOutputStream(Math.min(threshold, 8192));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response.");
+        }
+        if (outputStream == null) {
+            outputStream = new Stream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response.");
+            }
+            outputStream = new Stream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (target == null) {
+            contentLength = len;
+        } else if (gzip == null) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target == null && compressible.test(getContentType())) {
+            return;
+        }
+        decide(false);
+        target.flush();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (target == null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (target == null) {
+            buffer.reset();
+            contentLength = -1;
+        }
+        super.reset();
+    }
+
+    // Completes the gzip trailer, or sends a body that stayed below the threshold.
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target == null && contentLength < 0) {
+            // The whole body is in the buffer, so its length is known even if the handler did not set it.
+            contentLength = buffer.size();
+        }
+        decide(false);
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private void decide(boolean overThreshold) throws IOException {
+        if (target != null) {
+            return;
+        }
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        container = response.getOutputStream();
+        boolean typeCompressible = compressible.test(getContentType());
+        if (typeCompressible) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (overThreshold && typeCompressible && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+            // The gzip bytes differ from the identity ones, so a strong ETag gets "-gzip" appended
+            // (RFC 9110, 8.8.3); TaskETags strips it again before comparing versions.
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag != null && etag.startsWith("\"") && etag.endsWith("\"")) {
+                response.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + "-gzip\"");
+            }
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            gzip = new GZIPOutputStream(container, 8192) {
+                {
+                    def.setLevel(level);
+                }
+            };
+            target = gzip;
+        } else {
+            if (contentLength >= 0) {
+                response.setContentLengthLong(contentLength);
+            }
+            target = container;
+        }
+        buffer.writeTo(target);
+        buffer.reset();
+    }
+
+    private final class Stream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len > threshold) {
+                decide(true);
+            }
+            if (target != null) {
+                target.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target == null && compressible.test(getContentType())) {
+                return;
+            }
+            decide(false);
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return container == null || container.isReady();
+        }
+
+        // Non-blocking writers get the container's stream: the decision is made now, before any
+        // non-blocking write, so a body still below the threshold passes through uncompressed.
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                decide(false);
+            } catch (IOException ex) {
+                listener.onError(ex);
+                return;
+            }
+            container.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.cfg.EnumFeature;
+import tools.jackson.databind.cfg.MapperBuilder;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// Mappers for the binary task representations. Besides the format itself, they shrink the two
+// bulkiest values: LocalDateTime becomes epoch milliseconds (the stored wall-clock time read as
+// UTC, as in the snapshot format) instead of a 26-character ISO string, and enums such as
+// TaskStatus are written as their ordinal. Both are read back the same way. JSON is unchanged.
+public final class BinaryFormats {
+
+    private BinaryFormats() {
+    }
+
+    public static SmileMapper smileMapper() {
+        return compact(SmileMapper.builder()).build();
+    }
+
+    public static CBORMapper cborMapper() {
+        return compact(CBORMapper.builder()).build();
+    }
+
+    private static <B extends MapperBuilder<?, B>> B compact(B builder) {
+        SimpleModule module = new SimpleModule("compact-task-values")
+            .addSerializer(LocalDateTime.class, new EpochMillisSerializer())
+            .addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+        return builder.addModule(module).enable(EnumFeature.WRITE_ENUMS_USING_INDEX);
+    }
+
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializationContext context) {
+            gen.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static final class EpochMillisDeserializer extends StdDeserializer<LocalDateTime> {
+
+        EpochMillisDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getValueAsLong()), ZoneOffset.UTC);
+        }
+    }
+}
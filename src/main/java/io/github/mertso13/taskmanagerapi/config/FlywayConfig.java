@@ -0,0 +1,27 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.mertso13.taskmanagerapi.sharding.Shards;
+import io.github.mertso13.taskmanagerapi.snapshot.TaskSnapshot;
+
+@Configuration
+public class FlywayConfig {
+
+    // Restoring here, between the migrations and the EntityManagerFactory, means the search
+    // index, status counters and sequence all start from the restored rows. With sharding every
+    // shard is migrated, each keeping its own schema history.
+    @Bean
+    public FlywayMigrationStrategy migrateThenRestoreSnapshot(TaskSnapshot taskSnapshot,
+            TaskShardingProperties shardingProperties) {
+        return flyway -> {
+            int shards = shardingProperties.shardCount();
+            for (int shard = 0; shard < shards; shard++) {
+                Shards.on(shard, shards, flyway::migrate);
+            }
+            taskSnapshot.restoreOnStartup();
+        };
+    }
+}
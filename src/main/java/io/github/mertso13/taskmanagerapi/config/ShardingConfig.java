@@ -0,0 +1,54 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.github.mertso13.taskmanagerapi.sharding.ShardRoutingDataSource;
+
+// With task.sharding.enabled the tasks table is spread over task.sharding.count databases, each
+// with its own pool. The application sees one DataSource that routes by the current shard (see
+// Shards); ShardedTaskService picks the shard from the task id, or fans out to all of them.
+// spring.datasource.* is not used in this mode.
+@Configuration
+@ConditionalOnProperty(prefix = "task.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(TaskShardingProperties properties,
+            TaskDataSourceProperties dataSourceProperties, TaskSnapshotProperties snapshotProperties) {
+        if (properties.getCount() < 1) {
+            throw new IllegalStateException("task.sharding.count must be at least 1.");
+        }
+        // Both assume a single tasks table: the replica copies one primary, a snapshot holds one table.
+        if (dataSourceProperties.getReplica().isEnabled()) {
+            throw new IllegalStateException("task.sharding and task.datasource.replica cannot be enabled together.");
+        }
+        if (snapshotProperties.isRestoreOnStartup()) {
+            throw new IllegalStateException("task.snapshot.restore-on-startup is not supported with task.sharding.");
+        }
+
+        List<HikariDataSource> shards = new ArrayList<>(properties.getCount());
+        for (int shard = 0; shard < properties.getCount(); shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl().replace("{shard}", Integer.toString(shard)))
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.admission")
+public class TaskAdmissionProperties {
+    private boolean enabled = true;
+    // Sent as Retry-After when a request is shed because the concurrency limit is reached.
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // How far the recent latency may rise above the long-term average before the limit shrinks.
+    private double tolerance = 1.5;
+    private double smoothing = 0.2;
+    private Budget read = new Budget(40, 8, 200);
+    private Budget write = new Budget(20, 4, 100);
+    private Client client = new Client();
+
+    @Data
+    public static class Budget {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Budget() {
+        }
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    @Data
+    public static class Client {
+        private boolean enabled = false;
+        private double requestsPerSecond = 50;
+        private int burst = 100;
+        private int maxClients = 100_000;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Data;
+
+// How per-client features (admission rate limits, read-your-writes routing) tell clients apart.
+@Data
+@ConfigurationProperties(prefix = "task.client")
+public class TaskClientProperties {
+    // Clients are told apart by this header, or by remote address when it is missing.
+    private String header = "X-Client-Id";
+
+    public String clientKey(HttpServletRequest request) {
+        String client = request.getHeader(header);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+}
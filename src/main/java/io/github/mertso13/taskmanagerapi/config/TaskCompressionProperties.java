@@ -0,0 +1,20 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.compression")
+public class TaskCompressionProperties {
+    private boolean enabled = true;
+    // Smaller bodies are sent as they are; gzip costs more than it saves on them.
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+    // Deflate level, 1 (fastest) to 9 (smallest).
+    private int level = 1;
+    private List<String> mimeTypes = List.of("application/json", "application/x-ndjson",
+        "application/x-jackson-smile", "application/cbor", "application/problem+json", "text/plain");
+}
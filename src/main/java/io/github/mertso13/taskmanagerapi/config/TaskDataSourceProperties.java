@@ -0,0 +1,36 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.datasource")
+public class TaskDataSourceProperties {
+    // After a write, the same client's reads go to the primary for this long. 0 turns it off.
+    private Duration readYourWrites = Duration.ofSeconds(2);
+    private Replica replica = new Replica();
+    private Replication replication = new Replication();
+
+    @Data
+    public static class Replica {
+        private boolean enabled = false;
+        private String url = "jdbc:h2:mem:taskdb-replica;DB_CLOSE_DELAY=-1";
+        private String username = "sa";
+        private String password = "password";
+        private int maximumPoolSize = 20;
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+    }
+
+    // Stand-in for database replication, so the replica can be a second local H2 database.
+    @Data
+    public static class Replication {
+        private boolean enabled = true;
+        // Changes are copied no earlier than this after their commit, to make replica lag visible.
+        private Duration lag = Duration.ofMillis(100);
+        private Duration pollInterval = Duration.ofMillis(20);
+        private int batchSize = 500;
+    }
+}
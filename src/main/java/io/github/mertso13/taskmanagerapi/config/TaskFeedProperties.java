@@ -0,0 +1,16 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.feed")
+public class TaskFeedProperties {
+    // Events kept for Last-Event-ID resume; a subscriber further behind is told to resync.
+    private int bufferSize = 4096;
+    private Duration heartbeat = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,27 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.idempotency")
+public class TaskIdempotencyProperties {
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+
+    private boolean enabled = true;
+    // memory: per-instance cache bounded by max-bytes; jdbc: idempotency_keys table, kept across restarts.
+    private Store store = Store.MEMORY;
+    private Duration ttl = Duration.ofHours(24);
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+    // How long a duplicate waits for the in-flight request with the same key before getting 503.
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,28 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.retention")
+public class TaskRetentionProperties {
+
+    public enum Mode { ARCHIVE, PURGE }
+
+    // Only the schedule; POST /api/v1/admin/retention/run works either way.
+    private boolean enabled = false;
+    private Mode mode = Mode.ARCHIVE;
+    // DONE tasks not updated for this long are moved.
+    private Duration maxAge = Duration.ofDays(30);
+    private Duration interval = Duration.ofHours(1);
+    private Duration initialDelay = Duration.ofMinutes(1);
+    // Tasks per transaction; small enough that row locks are held for milliseconds.
+    private int chunkSize = 500;
+    // Pause between chunks, so the job never takes a connection for long stretches.
+    private Duration chunkDelay = Duration.ofMillis(50);
+    // Wait while requests are queueing for a connection or the pool is fully in use.
+    private Duration busyDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,26 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.sharding")
+public class TaskShardingProperties {
+    private boolean enabled = false;
+    private int count = 2;
+    // {shard} is replaced by the shard number, 0 to count - 1.
+    private String url = "jdbc:h2:mem:taskdb-shard{shard};DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "password";
+    // Per shard.
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    // Number of databases the tasks table is spread over; 1 when sharding is off.
+    public int shardCount() {
+        return enabled ? count : 1;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.snapshot")
+public class TaskSnapshotProperties {
+    private Path path = Path.of("data", "tasks.snapshot");
+    // Only applies when the tasks table is empty after the migrations, so it never overwrites data.
+    private boolean restoreOnStartup = false;
+}
@@ -0,0 +1,13 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.training")
+public class TaskTrainingProperties {
+    // Drive the API once started, then exit; used to record a CDS archive or JDK AOT cache.
+    private boolean enabled = false;
+    private int iterations = 300;
+}
@@ -0,0 +1,17 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "task.write-behind")
+public class TaskWriteBehindProperties {
+    private int queueCapacity = 10_000;
+    // A group commit is written once either limit is reached.
+    private int batchSize = 500;
+    private Duration maxDelay = Duration.ofMillis(50);
+    private Duration ticketTtl = Duration.ofMinutes(10);
+}
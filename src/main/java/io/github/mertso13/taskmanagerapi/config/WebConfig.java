@@ -0,0 +1,77 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.github.mertso13.taskmanagerapi.admission.AdmissionInterceptor;
+import io.github.mertso13.taskmanagerapi.metrics.SqlMetricsInterceptor;
+import io.github.mertso13.taskmanagerapi.routing.ReadRoutingInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Declared here rather than on the application class so slice tests (@DataJpaTest) do not pull MVC in.
+// @EnableWebMvc switches off Boot's MVC setup, so async request handling is pointed at the
+// application executor here. It runs on virtual threads when spring.threads.virtual.enabled=true.
+@Configuration
+@EnableWebMvc
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final ObjectProvider<SqlMetricsInterceptor> sqlMetricsInterceptor;
+    private final ObjectProvider<AdmissionInterceptor> admissionInterceptor;
+    private final ObjectProvider<ReadRoutingInterceptor> readRoutingInterceptor;
+
+    public WebConfig(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor,
+            ObjectProvider<SqlMetricsInterceptor> sqlMetricsInterceptor,
+            ObjectProvider<AdmissionInterceptor> admissionInterceptor,
+            ObjectProvider<ReadRoutingInterceptor> readRoutingInterceptor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.sqlMetricsInterceptor = sqlMetricsInterceptor;
+        this.admissionInterceptor = admissionInterceptor;
+        this.readRoutingInterceptor = readRoutingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so a shed request costs no more than the rejection. The SSE stream is long-lived and
+        // would pin a permit for as long as the client stays connected.
+        admissionInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+            .addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**")
+            .excludePathPatterns("/api/v1/tasks/events"));
+        readRoutingInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+            .addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**"));
+        sqlMetricsInterceptor.ifAvailable(registry::addInterceptor);
+        // Task responses come as JSON, Smile or CBOR, each with its own ETag suffix; caches must key on Accept.
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/v1/tasks", "/api/v1/tasks/**");
+    }
+
+    // JSON stays the default; Accept: application/x-jackson-smile or application/cbor selects a
+    // binary body, and requests may be sent in either format with the matching Content-Type.
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withSmileConverter(new JacksonSmileHttpMessageConverter(BinaryFormats.smileMapper()))
+            .withCborConverter(new JacksonCborHttpMessageConverter(BinaryFormats.cborMapper()));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.mertso13.taskmanagerapi.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.github.mertso13.taskmanagerapi.admission.AdmissionLimiter;
+import io.github.mertso13.taskmanagerapi.cache.TaskCache;
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.AdmissionStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskCacheStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskRetentionStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSearchStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSnapshotStats;
+import io.github.mertso13.taskmanagerapi.exception.UnprocessableContentException;
+import io.github.mertso13.taskmanagerapi.retention.TaskRetention;
+import io.github.mertso13.taskmanagerapi.search.TaskSearchIndex;
+import io.github.mertso13.taskmanagerapi.snapshot.TaskSnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Tag(name = "Administration", description = "Runtime state of the task API")
+public class AdminController {
+
+    private final TaskCache taskCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskSnapshot taskSnapshot;
+    private final AdmissionLimiter admissionLimiter;
+    private final TaskShardingProperties shardingProperties;
+    private final TaskRetention taskRetention;
+
+    @GetMapping("/cache")
+    @Operation(summary = "Task cache statistics", description = "Hit, miss and eviction counters of the getTaskByID cache.")
+    public TaskCacheStats getCacheStats() {
+        return taskCache.stats();
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search index statistics", description = "Indexed tasks, terms and estimated heap per indexed task.")
+    public TaskSearchStats getSearchStats() {
+        return taskSearchIndex.stats();
+    }
+
+    @PostMapping("/snapshot")
+    @Operation(summary = "Write a task snapshot",
+        description = "Dumps the tasks table to task.snapshot.path; restored on startup with task.snapshot.restore-on-startup=true.")
+    public TaskSnapshotStats writeSnapshot() {
+        if (shardingProperties.isEnabled()) {
+            throw new UnprocessableContentException("Snapshots cover a single tasks table and are not supported with sharding.");
+        }
+        return taskSnapshot.write();
+    }
+
+    @GetMapping("/admission")
+    @Operation(summary = "Admission control state",
+        description = "Current concurrency limit, in-flight, accepted and rejected requests per budget, and per-client rejections.")
+    public AdmissionStats getAdmissionStats() {
+        return admissionLimiter.stats();
+    }
+
+    @GetMapping("/retention")
+    @Operation(summary = "Retention job state",
+        description = "Mode, pause flag, progress of the current or last run and tasks archived or purged since startup.")
+    public TaskRetentionStats getRetentionStats() {
+        return taskRetention.stats();
+    }
+
+    @PostMapping("/retention/run")
+    @Operation(summary = "Start a retention run",
+        description = "Starts a run in the background unless one is going or the job is paused, also with task.retention.enabled=false.")
+    public TaskRetentionStats runRetention() {
+        taskRetention.trigger();
+        return taskRetention.stats();
+    }
+
+    @PostMapping("/retention/pause")
+    @Operation(summary = "Pause the retention job", description = "A running job stops after its current chunk; scheduled runs are skipped until resumed.")
+    public TaskRetentionStats pauseRetention() {
+        taskRetention.pause();
+        return taskRetention.stats();
+    }
+
+    @PostMapping("/retention/resume")
+    @Operation(summary = "Resume the retention job", description = "Lets scheduled and manual runs start again.")
+    public TaskRetentionStats resumeRetention() {
+        taskRetention.resume();
+        return taskRetention.stats();
+    }
+}
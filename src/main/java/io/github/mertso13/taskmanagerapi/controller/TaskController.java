@@ -1,27 +1,57 @@
 package io.github.mertso13.taskmanagerapi.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import io.github.mertso13.taskmanagerapi.dto.ArchivedTaskPage;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.feed.TaskEventFeed;
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
 import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
 import io.github.mertso13.taskmanagerapi.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
@@ -29,19 +59,167 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Task Management", description = "CRUD for Task Management")
 public class TaskController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskEventFeed taskEventFeed;
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Returns all the tasks in the DB.")
+    @Operation(summary = "Get tasks page by page", description = "Returns tasks filtered by status and creation time, sorted by createdAt or id (prefix '-' for descending). Pass nextCursor as 'after' with the same filters to fetch the next page.")
     @ApiResponse(
         responseCode = "200", 
         description = "Successful",
         content = @Content(
-            array = @ArraySchema(schema = @Schema(implementation = Task.class))
+            schema = @Schema(implementation = TaskPage.class)
+    )
+)
+@ApiResponse(
+    responseCode = "304",
+    description = "Page unchanged since the ETag in If-None-Match"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Invalid filter, sort, limit or cursor"
+)
+public ResponseEntity<TaskPage> getAllTasks(
+        @RequestParam(required = false) TaskStatus status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    TaskFilter filter = new TaskFilter(status, createdFrom, createdTo, TaskSort.parse(sort));
+    TaskPage page = taskService.getTasks(filter, after, limit);
+    return pageOrNotModified(page, TaskETags.of(page), ifNoneMatch);
+    }
+
+@GetMapping(params = "fields")
+@Operation(summary = "Get tasks page by page with selected fields", description = "Like the plain list, but only the columns named in 'fields' (comma-separated) are read and returned. id and version are always included.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Successful",
+    content = @Content(
+        schema = @Schema(implementation = TaskViewPage.class)
+    )
+)
+@ApiResponse(
+    responseCode = "304",
+    description = "Page unchanged since the ETag in If-None-Match"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Unknown field, invalid filter, sort, limit or cursor"
+)
+public ResponseEntity<TaskViewPage> getTaskViews(
+        @RequestParam String fields,
+        @RequestParam(required = false) TaskStatus status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    TaskFilter filter = new TaskFilter(status, createdFrom, createdTo, TaskSort.parse(sort));
+    TaskViewPage page = taskService.getTaskViews(filter, after, limit, TaskField.parse(fields));
+    return pageOrNotModified(page, TaskETags.of(page), ifNoneMatch);
+    }
+
+@GetMapping(value = "/export", produces = NDJSON)
+@Operation(summary = "Export all tasks", description = "Streams every task as newline-delimited JSON, one task per line.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Export stream"
+)
+public void exportTasks(HttpServletResponse response) throws IOException {
+    response.setContentType(NDJSON);
+    OutputStream out = response.getOutputStream();
+    try {
+        taskService.exportTasks(task -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+    }
+    out.flush();
+    }
+
+@GetMapping("/search")
+@Operation(summary = "Search tasks", description = "Full-text search over name and description. All words must match; end a word with '*' for a prefix match. Newest tasks first.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Matching tasks"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Empty query, too short prefix or invalid limit"
+)
+public List<Task> searchTasks(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit) {
+    return taskService.searchTasks(q, limit);
+    }
+
+@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+@Operation(summary = "Stream task changes", description = "Server-Sent Events of committed creates, updates and deletes. Send Last-Event-ID to resume; a 'resync' event means the client fell behind and should reload.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Event stream"
+)
+public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return taskEventFeed.subscribe(lastEventId);
+    }
+
+@GetMapping("/stats")
+@Operation(summary = "Count tasks per status", description = "Served from in-memory counters that are reconciled with the database periodically.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Successful",
+    content = @Content(
+        schema = @Schema(implementation = TaskStats.class)
+    )
+)
+public TaskStats getStats() {
+    return taskService.getStats();
+    }
+
+@GetMapping("/archive")
+@Operation(summary = "Get archived tasks page by page", description = "DONE tasks moved out by the retention job, in id order. Pass nextCursor as 'after' to fetch the next page.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Successful",
+    content = @Content(
+        schema = @Schema(implementation = ArchivedTaskPage.class)
     )
 )
-public List<Task> getAllTasks() {
-    return taskService.getAllTasks();
+@ApiResponse(
+    responseCode = "400",
+    description = "Invalid limit or cursor"
+)
+public ArchivedTaskPage getArchivedTasks(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit) {
+    return taskService.getArchivedTasks(after, limit);
+    }
+
+@GetMapping("/archive/{id}")
+@Operation(summary = "Fetch archived task by ID")
+@ApiResponse(
+    responseCode = "200",
+    description = "Archived task found"
+)
+@ApiResponse(
+    responseCode = "404",
+    description = "No archived task with this id"
+)
+public ArchivedTask getArchivedTask(@PathVariable Long id) {
+    return taskService.getArchivedTask(id);
     }
 
 @GetMapping("/{id}")
@@ -50,16 +228,72 @@ public List<Task> getAllTasks() {
     responseCode = "200",
     description = "Task found"
 )
+@ApiResponse(
+    responseCode = "304",
+    description = "Task unchanged since the ETag in If-None-Match"
+)
+@ApiResponse(
+    responseCode = "404",
+    description = "Task couldn't found"
+)
+public ResponseEntity<Task> getTaskByID(@PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+        // Compare against the version alone so a 304 never loads or serialises the description.
+        TaskVersion current = taskService.getTaskVersion(id);
+        String matched = TaskETags.match(ifNoneMatch, TaskETags.of(current.version()));
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(matched)
+                .lastModified(TaskETags.lastModified(current.updatedAt()))
+                .build();
+        }
+    }
+    Task task = taskService.getTaskByID(id);
+    return withValidators(ResponseEntity.ok(), task).body(task);
+    }
+
+@GetMapping(value = "/{id}", params = "fields")
+@Operation(summary = "Fetch selected fields of a task", description = "Only the columns named in 'fields' (comma-separated) are read and returned. id and version are always included.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Task found"
+)
+@ApiResponse(
+    responseCode = "304",
+    description = "Task unchanged since the ETag in If-None-Match"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Unknown field"
+)
 @ApiResponse(
     responseCode = "404",
     description = "Task couldn't found"
 )
-public Task getTaskByID(@PathVariable Long id){
-    return taskService.getTaskByID(id);
+public ResponseEntity<TaskView> getTaskView(@PathVariable Long id, @RequestParam String fields,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    Set<TaskField> selected = TaskField.parse(fields);
+    if (ifNoneMatch != null) {
+        TaskVersion current = taskService.getTaskVersion(id);
+        String matched = TaskETags.match(ifNoneMatch, TaskETags.of(current.version()));
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(matched)
+                .lastModified(TaskETags.lastModified(current.updatedAt()))
+                .build();
+        }
+    }
+    TaskView view = taskService.getTaskView(id, selected);
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(TaskETags.of(view.version()));
+    if (view.updatedAt() != null) {
+        builder.lastModified(TaskETags.lastModified(view.updatedAt()));
+    }
+    return builder.body(view);
     }
 
 @PostMapping
-@Operation(summary = "Create new task")
+@Operation(summary = "Create new task", description = "With an Idempotency-Key header, a retry gets the first response back instead of creating the task again.")
 @ApiResponse(
     responseCode = "201",
     description = "Task created"
@@ -68,11 +302,106 @@ public Task getTaskByID(@PathVariable Long id){
     responseCode = "400",
     description = "Invalid input"
 )
+@ApiResponse(
+    responseCode = "422",
+    description = "Idempotency-Key already used for a different request"
+)
 public ResponseEntity<Task> createTask(@RequestBody Task task) {
     Task createdTask = taskService.createTask(task);
     return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+@PostMapping(params = "async=true")
+@Operation(summary = "Create task asynchronously", description = "Validates the task and queues it for a group commit. Poll the returned ticket for the task id.")
+@ApiResponse(
+    responseCode = "202",
+    description = "Task accepted"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Invalid input"
+)
+@ApiResponse(
+    responseCode = "422",
+    description = "Idempotency-Key already used for a different request"
+)
+@ApiResponse(
+    responseCode = "429",
+    description = "Queue full, retry after the Retry-After delay"
+)
+public ResponseEntity<TaskSubmission> createTaskAsync(@RequestBody Task task) {
+    TaskSubmission submission = taskService.submitTask(task);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/v1/tasks/submissions/" + submission.getTicket()))
+        .body(submission);
+    }
+
+@GetMapping("/submissions/{ticket}")
+@Operation(summary = "Get async create result", description = "PENDING until the group commit ran, then CREATED with the task id or FAILED.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Submission state"
+)
+@ApiResponse(
+    responseCode = "404",
+    description = "Unknown or expired ticket"
+)
+public TaskSubmission getSubmission(@PathVariable String ticket) {
+    return taskService.getSubmission(ticket);
+    }
+
+@PostMapping("/batch")
+@Operation(summary = "Create many tasks", description = "Validates every task like a single create and inserts the valid ones in JDBC batches. Supports Idempotency-Key like a single create.")
+@ApiResponse(
+    responseCode = "201",
+    description = "All tasks created"
+)
+@ApiResponse(
+    responseCode = "207",
+    description = "Some tasks were rejected, see the per-item results"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Empty or oversized batch"
+)
+@ApiResponse(
+    responseCode = "422",
+    description = "Idempotency-Key already used for a different request"
+)
+public ResponseEntity<List<BatchItemResult>> createTasks(@RequestBody List<Task> tasks) {
+    List<BatchItemResult> results = taskService.createTasks(tasks);
+    boolean allCreated = results.stream().allMatch(result -> result.getError() == null);
+    return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+@PostMapping("/bulk/status")
+@Operation(summary = "Change the status of many tasks", description = "Targets an id list and/or a status/createdBefore filter and returns the number of updated tasks.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Tasks updated"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Invalid input"
+)
+public BulkResult bulkUpdateStatus(@RequestBody BulkTaskRequest request) {
+    return new BulkResult(taskService.bulkUpdateStatus(request));
+    }
+
+@PostMapping("/bulk/delete")
+@Operation(summary = "Delete many tasks", description = "Targets an id list and/or a status/createdBefore filter and returns the number of deleted tasks.")
+@ApiResponse(
+    responseCode = "200",
+    description = "Tasks deleted"
+)
+@ApiResponse(
+    responseCode = "400",
+    description = "Invalid input"
+)
+public BulkResult bulkDelete(@RequestBody BulkTaskRequest request) {
+    return new BulkResult(taskService.bulkDelete(request));
+    }
+
 @PutMapping("/{id}")
 @Operation(summary = "Update the task")
 @ApiResponse(
@@ -83,12 +412,38 @@ public ResponseEntity<Task> createTask(@RequestBody Task task) {
     responseCode = "404",
     description = "Task couldn't found"
 )
-public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task updatedTask) {
-    Task savedTask = taskService.updateTask(id, updatedTask);
-    return ResponseEntity.ok(savedTask);
+@ApiResponse(
+    responseCode = "412",
+    description = "Task changed since the ETag in If-Match"
+)
+public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task updatedTask,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Task savedTask = taskService.updateTask(id, updatedTask, TaskETags.expectedVersion(ifMatch));
+    return withValidators(ResponseEntity.ok(), savedTask).body(savedTask);
     
     }
 
+@PatchMapping("/{id}")
+@Operation(summary = "Change only the given fields of the task in a single UPDATE")
+@ApiResponse(
+    responseCode = "200",
+    description = "Task updated"
+)
+@ApiResponse(
+    responseCode = "404",
+    description = "Task couldn't found"
+)
+@ApiResponse(
+    responseCode = "412",
+    description = "Task changed since the ETag in If-Match"
+)
+public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody Task changes,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Task patchedTask = taskService.patchTask(id, changes, TaskETags.expectedVersion(ifMatch));
+    return withValidators(ResponseEntity.ok(), patchedTask).body(patchedTask);
+
+    }
+
 @DeleteMapping("/{id}")
 @Operation(summary = "Delete the task")
 @ApiResponse(
@@ -99,8 +454,34 @@ public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task
     responseCode = "404",
     description = "Task couldn't found"
 )
-public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-    taskService.deleteTask(id);
+@ApiResponse(
+    responseCode = "412",
+    description = "Task changed since the ETag in If-Match"
+)
+public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
     return ResponseEntity.noContent().build();
     }
+
+    // The 304 is decided here rather than by Spring, which does not know the format and coding
+    // suffixes, and still comes before the page is serialised.
+    private static <T> ResponseEntity<T> pageOrNotModified(T page, String etag, String ifNoneMatch) {
+        String matched = ifNoneMatch == null ? null : TaskETags.match(ifNoneMatch, etag);
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Task task) {
+        if (task == null || task.getVersion() == null) {
+            return builder;
+        }
+        builder.eTag(TaskETags.of(task.getVersion()));
+        if (task.getUpdatedAt() != null) {
+            builder.lastModified(TaskETags.lastModified(task.getUpdatedAt()));
+        }
+        return builder;
+    }
 }
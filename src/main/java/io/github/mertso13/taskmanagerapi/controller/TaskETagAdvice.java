@@ -0,0 +1,49 @@
+package io.github.mertso13.taskmanagerapi.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Tags Smile and CBOR bodies apart from JSON ones once the format has been negotiated, so every
+// representation of a task version has a strong tag of its own.
+@ControllerAdvice(assignableTypes = TaskController.class)
+class TaskETagAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        String etag = response.getHeaders().getETag();
+        String suffix = SMILE.isCompatibleWith(selectedContentType) ? TaskETags.SMILE
+            : MediaType.APPLICATION_CBOR.isCompatibleWith(selectedContentType) ? TaskETags.CBOR
+            : null;
+        // A bodiless 304 already carries the tag the client sent.
+        if (body == null || etag == null || suffix == null || !etag.startsWith("\"")) {
+            return body;
+        }
+        String tagged = TaskETags.withSuffix(etag, suffix);
+        // On GET, Spring's 304 check has already put the plain tag on the servlet response, while the
+        // headers of this wrapper are only added to it later; replace the tag in both places, or two
+        // would be sent.
+        if (response instanceof ServletServerHttpResponse servletResponse) {
+            response.getHeaders().remove(HttpHeaders.ETAG);
+            servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, tagged);
+        } else {
+            response.getHeaders().setETag(tagged);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.mertso13.taskmanagerapi.controller;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.exception.PreconditionFailedException;
+import io.github.mertso13.taskmanagerapi.model.Task;
+
+// Strong entity tags derived from Task.version, so they can be checked without rendering the body.
+// Each representation has its own strong tag (RFC 9110, 8.8.3): Smile and CBOR bodies get "-smile"
+// or "-cbor" appended by TaskETagAdvice, gzip bodies "-gzip" by the compression filter, e.g.
+// "3-cbor-gzip". The validators below compare what is left without those suffixes.
+final class TaskETags {
+
+    static final String SMILE = "smile";
+    static final String CBOR = "cbor";
+    // Outermost first, in the reverse of the order they are appended.
+    private static final List<String> SUFFIXES = List.of("-gzip", "-" + SMILE, "-" + CBOR);
+
+    private TaskETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(TaskPage page) {
+        long hash = 17;
+        for (Task task : page.getItems()) {
+            hash = hash(hash, task.getId(), task.getVersion());
+        }
+        return of(hash, page.getNextCursor());
+    }
+
+    // Field projections always carry id and version, so their pages get tags the same way.
+    static String of(TaskViewPage page) {
+        long hash = 17;
+        for (TaskView view : page.getItems()) {
+            hash = hash(hash, view.id(), view.version());
+        }
+        return of(hash, page.getNextCursor());
+    }
+
+    private static long hash(long hash, Long id, Long version) {
+        hash = 31 * hash + (id == null ? 0 : id);
+        return 31 * hash + (version == null ? 0 : version);
+    }
+
+    private static String of(long hash, String nextCursor) {
+        hash = 31 * hash + (nextCursor == null ? 0 : nextCursor.hashCode());
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static String withSuffix(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    static String withoutSuffixes(String tag) {
+        String opaque = tag;
+        for (String suffix : SUFFIXES) {
+            if (opaque.endsWith(suffix + "\"")) {
+                opaque = opaque.substring(0, opaque.length() - suffix.length() - 1) + "\"";
+            }
+        }
+        return opaque;
+    }
+
+    // If-None-Match uses the weak comparison function (RFC 9110, 13.1.2). Returns the tag the 304
+    // should carry, the one the client holds, or null when none matches.
+    static String match(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return etag;
+            }
+            String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+            if (withoutSuffixes(opaque).equals(etag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    // Returns the version an If-Match header pins, or null for "*" / no header.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = withoutSuffixes(ifMatch.trim());
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            // Weak or malformed tags can never match under strong comparison.
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag.");
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current task version.");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+public record AdmissionBudgetStats(int limit, int inFlight, long accepted, long rejected,
+        double recentRttMillis, double averageRttMillis) {
+}
@@ -0,0 +1,5 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+public record AdmissionStats(boolean enabled, AdmissionBudgetStats read, AdmissionBudgetStats write,
+        long clientRejections, long trackedClients) {
+}
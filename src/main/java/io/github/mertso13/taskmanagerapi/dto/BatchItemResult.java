@@ -0,0 +1,24 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import org.springframework.http.HttpStatus;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private Task task;
+    private String error;
+
+    public static BatchItemResult created(int index, Task task) {
+        return new BatchItemResult(index, HttpStatus.CREATED.value(), task, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, HttpStatus.BAD_REQUEST.value(), null, error);
+    }
+}
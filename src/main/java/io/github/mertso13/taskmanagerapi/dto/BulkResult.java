@@ -0,0 +1,10 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkResult {
+    private long affected;
+}
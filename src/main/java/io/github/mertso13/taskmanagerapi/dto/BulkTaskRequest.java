@@ -0,0 +1,16 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.Data;
+
+// Targets either an explicit id list or every task matching the filter (or both, intersected).
+@Data
+public class BulkTaskRequest {
+    private List<Long> ids;
+    private TaskStatus status;
+    private LocalDateTime createdBefore;
+    private TaskStatus newStatus; // only used by status changes
+}
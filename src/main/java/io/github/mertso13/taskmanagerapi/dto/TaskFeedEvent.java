@@ -0,0 +1,16 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskFeedEvent {
+    private TaskChangedEvent.Type type;
+    private Long taskId;
+    private TaskStatus status; // null for deletes
+    private Task task; // null for deletes and bulk updates
+}
@@ -0,0 +1,57 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Columns a client can ask for with fields=. The name is both the JSON property and the Task attribute.
+public enum TaskField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    private final String attribute;
+
+    TaskField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    // id and version are always included: they identify the task and back the ETag and If-Match.
+    public static Set<TaskField> parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("fields must name at least one of id, name, description, status, "
+                + "createdAt, updatedAt, version.");
+        }
+        Set<TaskField> fields = EnumSet.of(ID, VERSION);
+        for (String name : value.split(",")) {
+            fields.add(of(name.trim()));
+        }
+        return fields;
+    }
+
+    // fields plus the columns a next-page cursor under this sort is built from.
+    public static Set<TaskField> withCursor(Set<TaskField> fields, TaskSort sort) {
+        Set<TaskField> selected = EnumSet.copyOf(fields);
+        if (sort.byCreatedAt()) {
+            selected.add(CREATED_AT);
+        }
+        return selected;
+    }
+
+    private static TaskField of(String name) {
+        for (TaskField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "'; fields must be among id, name, description, "
+            + "status, createdAt, updatedAt, version.");
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private TaskStatus status;
+    // Inclusive lower bound and exclusive upper bound on createdAt.
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private TaskSort sort = TaskSort.CREATED_AT;
+}
@@ -0,0 +1,6 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+
+public record TaskIdUpdatedAt(Long id, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,14 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.util.List;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskPage {
+    private List<Task> items;
+    private String nextCursor; // null when this is the last page
+}
@@ -0,0 +1,11 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+
+import io.github.mertso13.taskmanagerapi.config.TaskRetentionProperties;
+
+// lastRun* describe the run in progress while running is true.
+public record TaskRetentionStats(boolean enabled, TaskRetentionProperties.Mode mode, boolean paused, boolean running,
+        LocalDateTime lastRunStartedAt, LocalDateTime lastRunFinishedAt, LocalDateTime lastRunCutoff, long lastRunTasks,
+        long archived, long purged, long chunks, long throttled) {
+}
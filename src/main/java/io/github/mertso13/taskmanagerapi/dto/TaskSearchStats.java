@@ -0,0 +1,14 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSearchStats {
+    private long documents;
+    private long terms;
+    private long postings;
+    private long estimatedBytes;
+    private double bytesPerTask;
+}
@@ -0,0 +1,4 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+public record TaskSnapshotStats(String path, long tasks, long bytes, long millis) {
+}
@@ -0,0 +1,55 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+
+// id is always the tie-breaker so the order is total and keyset cursors stay stable.
+public enum TaskSort {
+    CREATED_AT("createdAt", Sort.by(Sort.Direction.ASC, "createdAt", "id")),
+    CREATED_AT_DESC("-createdAt", Sort.by(Sort.Direction.DESC, "createdAt", "id")),
+    ID("id", Sort.by(Sort.Direction.ASC, "id")),
+    ID_DESC("-id", Sort.by(Sort.Direction.DESC, "id"));
+
+    private final String parameter;
+    private final Sort sort;
+
+    TaskSort(String parameter, Sort sort) {
+        this.parameter = parameter;
+        this.sort = sort;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+
+    public boolean byCreatedAt() {
+        return this == CREATED_AT || this == CREATED_AT_DESC;
+    }
+
+    public boolean descending() {
+        return this == CREATED_AT_DESC || this == ID_DESC;
+    }
+
+    // The same order as toSort(), for merging rows that were sorted by different queries.
+    public <T> Comparator<T> comparator(Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        Comparator<T> ascending = byCreatedAt()
+            ? Comparator.comparing(createdAt).thenComparing(id)
+            : Comparator.comparing(id);
+        return descending() ? ascending.reversed() : ascending;
+    }
+
+    public static TaskSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED_AT;
+        }
+        for (TaskSort candidate : values()) {
+            if (candidate.parameter.equals(value)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Sort must be one of createdAt, -createdAt, id, -id.");
+    }
+}
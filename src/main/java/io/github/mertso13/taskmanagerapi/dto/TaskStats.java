@@ -0,0 +1,14 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.util.Map;
+
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskStats {
+    private Map<TaskStatus, Long> byStatus;
+    private long total;
+}
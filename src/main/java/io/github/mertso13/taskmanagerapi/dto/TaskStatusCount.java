@@ -0,0 +1,6 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+
+public record TaskStatusCount(TaskStatus status, Long count) {
+}
@@ -0,0 +1,32 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSubmission {
+
+    public enum State {
+        PENDING,
+        CREATED,
+        FAILED
+    }
+
+    private String ticket;
+    private State state;
+    private Long taskId;
+    private String error;
+
+    public static TaskSubmission pending(String ticket) {
+        return new TaskSubmission(ticket, State.PENDING, null, null);
+    }
+
+    public static TaskSubmission created(String ticket, Long taskId) {
+        return new TaskSubmission(ticket, State.CREATED, taskId, null);
+    }
+
+    public static TaskSubmission failed(String ticket, String error) {
+        return new TaskSubmission(ticket, State.FAILED, null, error);
+    }
+}
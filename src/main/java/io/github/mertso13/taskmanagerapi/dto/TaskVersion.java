@@ -0,0 +1,7 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+
+// What a conditional GET needs, without loading the description column.
+public record TaskVersion(Long version, LocalDateTime updatedAt) {
+}
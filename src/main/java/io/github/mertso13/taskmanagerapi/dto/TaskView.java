@@ -0,0 +1,39 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+
+// A task with only the fields= columns set. Not an entity, so it never enters the persistence
+// context; fields that were not asked for are null and left out of the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskView(Long id, String name, String description, TaskStatus status, LocalDateTime createdAt,
+        LocalDateTime updatedAt, Long version) {
+
+    public static TaskView of(Task task, Set<TaskField> fields) {
+        return new TaskView(
+            fields.contains(TaskField.ID) ? task.getId() : null,
+            fields.contains(TaskField.NAME) ? task.getName() : null,
+            fields.contains(TaskField.DESCRIPTION) ? task.getDescription() : null,
+            fields.contains(TaskField.STATUS) ? task.getStatus() : null,
+            fields.contains(TaskField.CREATED_AT) ? task.getCreatedAt() : null,
+            fields.contains(TaskField.UPDATED_AT) ? task.getUpdatedAt() : null,
+            fields.contains(TaskField.VERSION) ? task.getVersion() : null);
+    }
+
+    // The same view with the fields outside the given set cleared.
+    public TaskView only(Set<TaskField> fields) {
+        return new TaskView(
+            fields.contains(TaskField.ID) ? id : null,
+            fields.contains(TaskField.NAME) ? name : null,
+            fields.contains(TaskField.DESCRIPTION) ? description : null,
+            fields.contains(TaskField.STATUS) ? status : null,
+            fields.contains(TaskField.CREATED_AT) ? createdAt : null,
+            fields.contains(TaskField.UPDATED_AT) ? updatedAt : null,
+            fields.contains(TaskField.VERSION) ? version : null);
+    }
+}
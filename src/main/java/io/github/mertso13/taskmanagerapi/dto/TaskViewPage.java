@@ -0,0 +1,13 @@
+package io.github.mertso13.taskmanagerapi.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskViewPage {
+    private List<TaskView> items;
+    private String nextCursor; // null when this is the last page
+}
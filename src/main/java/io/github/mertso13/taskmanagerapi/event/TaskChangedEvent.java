@@ -0,0 +1,22 @@
+package io.github.mertso13.taskmanagerapi.event;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.Value;
+
+// Published by TaskServiceImpl for every task it writes; listeners should react after commit.
+@Value
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type;
+    Long taskId;
+    Task task; // state after the change, null for deletes and bulk updates
+    TaskStatus previousStatus; // null for creates
+    TaskStatus status; // null for deletes
+}
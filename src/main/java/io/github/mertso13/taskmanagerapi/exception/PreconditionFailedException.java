@@ -0,0 +1,8 @@
+package io.github.mertso13.taskmanagerapi.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.mertso13.taskmanagerapi.exception;
+
+public class UnprocessableContentException extends RuntimeException {
+
+    public UnprocessableContentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.mertso13.taskmanagerapi.feed;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.github.mertso13.taskmanagerapi.config.TaskFeedProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskFeedEvent;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Change feed behind GET /tasks/events. Committed changes go into a fixed-size ring buffer;
+// writers only take a short lock to append and never wait for subscribers. Each subscriber
+// runs on its own virtual thread with its own cursor into the ring, so an idle one is a parked
+// virtual thread and a slow one only delays itself. A subscriber whose cursor has been
+// overwritten gets a "resync" event and is closed.
+@Component
+public class TaskEventFeed implements MeterBinder {
+
+    public static final String RESYNC = "resync";
+
+    private static final int MAX_BATCH = 256;
+
+    private final TaskFeedProperties properties;
+    private final TaskFeedEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private long lastSequence; // guarded by lock
+    private Counter resyncs;
+
+    public TaskEventFeed(TaskFeedProperties properties) {
+        this.properties = properties;
+        this.ring = new TaskFeedEvent[properties.getBufferSize()];
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publish(new TaskFeedEvent(event.getType(), event.getTaskId(), event.getStatus(), event.getTask()));
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, resumeFrom(lastEventId));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("task-feed-subscriber").start(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Let the server shut down without waiting for long-lived streams to time out.
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.feed.subscribers", this, TaskEventFeed::subscriberCount)
+            .description("Open task change feed streams")
+            .register(registry);
+        resyncs = Counter.builder("tasks.feed.resyncs")
+            .description("Subscribers that fell behind the buffer and were told to resync")
+            .register(registry);
+    }
+
+    void publish(TaskFeedEvent event) {
+        lock.lock();
+        try {
+            lastSequence++;
+            ring[(int) (lastSequence % ring.length)] = event;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Events after the given sequence, keyed by sequence; null when some were already overwritten.
+    Map<Long, TaskFeedEvent> eventsAfter(long sequence) {
+        lock.lock();
+        try {
+            return copyAfter(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // No Last-Event-ID: only new events. An id from before a restart, or one that does not parse,
+    // cannot be resumed and forces a resync.
+    long resumeFrom(String lastEventId) {
+        lock.lock();
+        try {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return lastSequence;
+            }
+            long sequence = Long.parseLong(lastEventId.trim());
+            return sequence >= 0 && sequence <= lastSequence ? sequence : Long.MIN_VALUE;
+        } catch (NumberFormatException ex) {
+            return Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Long, TaskFeedEvent> copyAfter(long sequence) {
+        if (sequence < lastSequence - ring.length) {
+            return null;
+        }
+        Map<Long, TaskFeedEvent> batch = new LinkedHashMap<>();
+        for (long next = sequence + 1; next <= lastSequence && batch.size() < MAX_BATCH; next++) {
+            batch.put(next, ring[(int) (next % ring.length)]);
+        }
+        return batch;
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private volatile boolean open = true;
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (open) {
+                    Map<Long, TaskFeedEvent> batch = awaitEvents();
+                    if (!open) {
+                        return;
+                    }
+                    if (batch == null) {
+                        if (resyncs != null) {
+                            resyncs.increment();
+                        }
+                        emitter.send(SseEmitter.event().name(RESYNC)
+                            .data(Map.of("reason", "Fell behind the change feed; reload and reconnect.")));
+                        emitter.complete();
+                        return;
+                    }
+                    if (batch.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    for (Map.Entry<Long, TaskFeedEvent> entry : batch.entrySet()) {
+                        emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.getKey()))
+                            .name(entry.getValue().getType().name().toLowerCase(Locale.ROOT))
+                            .data(entry.getValue()));
+                        cursor = entry.getKey();
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away or the emitter was completed; nothing left to deliver to.
+            } finally {
+                close();
+            }
+        }
+
+        // Empty batch means the heartbeat interval passed without events.
+        private Map<Long, TaskFeedEvent> awaitEvents() {
+            lock.lock();
+            try {
+                long remaining = properties.getHeartbeat().toNanos();
+                while (open && lastSequence <= cursor && cursor != Long.MIN_VALUE) {
+                    if (remaining <= 0) {
+                        return Map.of();
+                    }
+                    remaining = appended.awaitNanos(remaining);
+                }
+                return copyAfter(cursor);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                open = false;
+                return Map.of();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            if (!open && !subscribers.contains(this)) {
+                return;
+            }
+            open = false;
+            subscribers.remove(this);
+            lock.lock();
+            try {
+                appended.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.github.mertso13.taskmanagerapi.config.TaskIdempotencyProperties;
+import io.github.mertso13.taskmanagerapi.exception.ServiceUnavailableException;
+import io.github.mertso13.taskmanagerapi.exception.UnprocessableContentException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// Idempotency-Key for the create endpoints. The first request with a key runs normally and its
+// response (status, Location, body bytes) is stored; a retry with the same key gets that response
+// back without reaching the controller, the admission limiter or the database. A duplicate that
+// arrives while the first is still running waits for its result instead of inserting again.
+// A filter rather than an interceptor because the response body has to be captured and replayed.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> PATHS = Set.of("/api/v1/tasks", "/api/v1/tasks/batch");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final TaskIdempotencyProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    // Errors raised here are outside DispatcherServlet; the resolver renders them through GlobalExceptionHandler.
+    public IdempotencyFilter(IdempotencyStore store, TaskIdempotencyProperties properties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.store = store;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+            || request.getHeader(HEADER) == null
+            || !PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cachedRequest);
+        IdempotentResponse previous;
+        try {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            }
+            previous = findOrClaim(key);
+            if (previous != null && !previous.fingerprint().equals(fingerprint)) {
+                throw new UnprocessableContentException(HEADER + " '" + key + "' was already used for a different request.");
+            }
+        } catch (IllegalArgumentException | UnprocessableContentException | ServiceUnavailableException ex) {
+            exceptionResolver.resolveException(request, response, null, ex);
+            return;
+        }
+        if (previous != null) {
+            replay(previous, response);
+        } else {
+            execute(key, fingerprint, cachedRequest, response, chain);
+        }
+    }
+
+    // Returns the response to replay, or null once this request holds the in-flight slot for the key.
+    private IdempotentResponse findOrClaim(String key) {
+        while (true) {
+            IdempotentResponse stored = store.find(key);
+            if (stored != null) {
+                return stored;
+            }
+            CompletableFuture<IdempotentResponse> claim = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, claim);
+            if (running == null) {
+                // The previous holder may have stored its response and left between the lookup and the claim.
+                stored = store.find(key);
+                if (stored != null) {
+                    inFlight.remove(key, claim);
+                    claim.complete(stored);
+                }
+                return stored;
+            }
+            coalesced.increment();
+            IdempotentResponse result = await(running);
+            if (result != null) {
+                return result;
+            }
+            // The first request's response was not kept (5xx, 429); this one runs in its place.
+        }
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException("A request with this " + HEADER + " is still in progress.",
+                properties.getWaitTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for a request with the same " + HEADER + ".",
+                properties.getWaitTimeout());
+        } catch (ExecutionException ex) {
+            // Claims are only ever completed normally.
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        CompletableFuture<IdempotentResponse> claim = inFlight.get(key);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        IdempotentResponse result = null;
+        try {
+            chain.doFilter(request, wrapper);
+            if (isKept(wrapper.getStatus())) {
+                result = new IdempotentResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray(), LocalDateTime.now());
+                save(key, result);
+            }
+        } finally {
+            inFlight.remove(key, claim);
+            claim.complete(result);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // The task was created either way; a store failure must not turn the response into an error.
+    private void save(String key, IdempotentResponse result) {
+        try {
+            store.save(key, result);
+        } catch (RuntimeException ex) {
+            log.warn("Could not store the response for {} '{}'.", HEADER, key, ex);
+        }
+    }
+
+    // Server errors and rate limits are transient, so a retry should run again. So is a 202 from
+    // async=true: it only says the task was queued, the group commit can still fail, and its ticket
+    // expires after task.write-behind.ticket-ttl, long before the stored response would.
+    private static boolean isKept(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.ACCEPTED.value();
+    }
+
+    private void replay(IdempotentResponse previous, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(previous.status());
+        if (previous.contentType() != null) {
+            response.setContentType(previous.contentType());
+        }
+        if (previous.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, previous.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(previous.body().length);
+        response.getOutputStream().write(previous.body());
+    }
+
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(request.body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.idempotency.replayed", replayed, LongAdder::sum)
+            .description("Requests answered with the stored response for their Idempotency-Key")
+            .register(registry);
+        FunctionCounter.builder("tasks.idempotency.coalesced", coalesced, LongAdder::sum)
+            .description("Duplicates that waited for an in-flight request with the same Idempotency-Key")
+            .register(registry);
+    }
+
+    // The body is read up front for the fingerprint and then served again to the controller.
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already here, so a non-blocking reader is served at once.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+public interface IdempotencyStore {
+
+    // Null when the key is unknown or its response has expired.
+    IdempotentResponse find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,9 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+import java.time.LocalDateTime;
+
+// The stored first response to a request with an Idempotency-Key, replayed byte for byte. The
+// fingerprint (SHA-256 of method, URI and body) catches a key reused for a different request.
+public record IdempotentResponse(String fingerprint, int status, String contentType, String location, byte[] body,
+        LocalDateTime createdAt) {
+}
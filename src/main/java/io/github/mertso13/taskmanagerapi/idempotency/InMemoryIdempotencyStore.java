@@ -0,0 +1,47 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.mertso13.taskmanagerapi.config.TaskIdempotencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Bounded by the size of the stored bodies rather than the number of keys: one batch response can
+// weigh as much as thousands of single creates.
+@Component
+@ConditionalOnProperty(prefix = "task.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore, MeterBinder {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    public InMemoryIdempotencyStore(TaskIdempotencyProperties properties) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxBytes().toBytes())
+            .weigher((String key, IdempotentResponse response) -> ENTRY_OVERHEAD_BYTES + response.body().length)
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        cache.put(key, response);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency");
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.mertso13.taskmanagerapi.config.TaskIdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+// Keeps responses in the idempotency_keys table, so they survive restarts and are shared by every
+// instance on the same database. Expired rows are ignored on read and deleted by the purge job.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task.idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SELECT = "select fingerprint, status, content_type, location, body, created_at "
+        + "from idempotency_keys where idempotency_key = ? and created_at >= ?";
+    private static final String MERGE = "merge into idempotency_keys "
+        + "(idempotency_key, fingerprint, status, content_type, location, body, created_at) key (idempotency_key) "
+        + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<IdempotentResponse> ROW_MAPPER = (rs, rowNum) -> new IdempotentResponse(
+        rs.getString("fingerprint"),
+        rs.getInt("status"),
+        rs.getString("content_type"),
+        rs.getString("location"),
+        rs.getBytes("body"),
+        rs.getObject("created_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskIdempotencyProperties properties;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, TaskIdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return jdbcTemplate.query(SELECT, ROW_MAPPER, key, LocalDateTime.now().minus(properties.getTtl()))
+            .stream()
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        jdbcTemplate.update(MERGE, key, response.fingerprint(), response.status(), response.contentType(),
+            response.location(), response.body(), response.createdAt());
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.purge-interval:10m}",
+        initialDelayString = "${task.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("delete from idempotency_keys where created_at < ?",
+            LocalDateTime.now().minus(properties.getTtl()));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys.", purged);
+        }
+    }
+}
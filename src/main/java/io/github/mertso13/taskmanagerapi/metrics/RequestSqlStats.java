@@ -0,0 +1,49 @@
+package io.github.mertso13.taskmanagerapi.metrics;
+
+// Per-request SQL counters, bound to the request thread by SqlMetricsInterceptor.
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int rowsLoaded;
+
+    private RequestSqlStats() {
+    }
+
+    static void begin() {
+        CURRENT.set(new RequestSqlStats());
+    }
+
+    static void resume(RequestSqlStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static RequestSqlStats end() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementExecuted() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void rowLoaded() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rowsLoaded++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getRowsLoaded() {
+        return rowsLoaded;
+    }
+}
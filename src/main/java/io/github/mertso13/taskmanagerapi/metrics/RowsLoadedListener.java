@@ -0,0 +1,11 @@
+package io.github.mertso13.taskmanagerapi.metrics;
+
+import jakarta.persistence.PostLoad;
+
+public class RowsLoadedListener {
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        RequestSqlStats.rowLoaded();
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.mertso13.taskmanagerapi.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Records how many statements and entity rows each controller method needed, so N+1 regressions show up.
+// When a handler goes async (SSE, write-behind create) the counts leave the pooled thread in a request
+// attribute and are picked up again by the async dispatch, which records them on completion.
+@Component
+@ConditionalOnProperty(prefix = "task.metrics", name = "sql-per-request", havingValue = "true")
+@RequiredArgsConstructor
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STATS_ATTRIBUTE = SqlMetricsInterceptor.class.getName() + ".stats";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STATS_ATTRIBUTE) instanceof RequestSqlStats stats) {
+            request.removeAttribute(STATS_ATTRIBUTE);
+            RequestSqlStats.resume(stats);
+        } else if (handler instanceof HandlerMethod) {
+            RequestSqlStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        RequestSqlStats stats = RequestSqlStats.end();
+        if (stats != null) {
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestSqlStats stats = RequestSqlStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        DistributionSummary.builder("tasks.request.sql.statements")
+            .description("SQL statements executed per request")
+            .tag("handler", name)
+            .register(meterRegistry)
+            .record(stats.getStatements());
+        DistributionSummary.builder("tasks.request.rows.loaded")
+            .description("Entity rows loaded per request")
+            .tag("handler", name)
+            .register(meterRegistry)
+            .record(stats.getRowsLoaded());
+    }
+}
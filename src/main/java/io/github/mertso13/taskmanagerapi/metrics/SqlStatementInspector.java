@@ -0,0 +1,13 @@
+package io.github.mertso13.taskmanagerapi.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector; a no-op outside a measured request.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats.statementExecuted();
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.mertso13.taskmanagerapi.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// A task the retention job moved out of the tasks table: its last state plus when it was moved.
+// Rows are only ever inserted by the job's INSERT ... SELECT, so Hibernate treats them as read-only.
+@Entity
+@Immutable
+@Table(name = "tasks_archive")
+@Data
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,21 +3,40 @@ package io.github.mertso13.taskmanagerapi.model;
 import lombok.Data;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.github.mertso13.taskmanagerapi.metrics.RowsLoadedListener;
+import io.github.mertso13.taskmanagerapi.sharding.ShardedSequence;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners(RowsLoadedListener.class)
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+    // Serves status filters alone, with a createdAt range, and the createdAt sort under a status filter.
+    @Index(name = "idx_tasks_status_created_at_id", columnList = "status, created_at, id"),
+    // The retention job's scan for old DONE tasks.
+    @Index(name = "idx_tasks_status_updated_at_id", columnList = "status, updated_at, id")
+})
+// Dirty-checked updates (PUT) only write the columns that changed, not the TEXT description every time.
+@DynamicUpdate
 @Data
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts; with sharding the id
+    // also says which shard the task is on.
+    @ShardedSequence(sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,4 +51,13 @@ public class Task {
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Backs the ETag and If-Match compare-and-set; bumped by every update, including bulk ones.
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,28 @@
+package io.github.mertso13.taskmanagerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<ArchivedTask, Long> {
+
+    List<ArchivedTask> findByIdGreaterThanOrderById(long afterId, Limit limit);
+
+    // Copied inside the database, so the rows never pass through the application.
+    @Modifying
+    @Query(value = """
+        insert into tasks_archive (id, created_at, description, name, status, updated_at, version, archived_at)
+        select id, created_at, description, name, status, updated_at, version, :archivedAt from tasks
+        where id in :ids
+        """, nativeQuery = true)
+    int copyFromTasks(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
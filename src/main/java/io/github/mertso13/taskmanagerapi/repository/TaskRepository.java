@@ -1,11 +1,128 @@
 package io.github.mertso13.taskmanagerapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskIdStatus;
+import io.github.mertso13.taskmanagerapi.dto.TaskIdUpdatedAt;
+import io.github.mertso13.taskmanagerapi.dto.TaskStatusCount;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
 import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+
+    // Filters, sort and the keyset position are composed into one query; see TaskSpecifications.
+    default List<Task> findPage(TaskFilter filter, TaskCursor after, Limit limit) {
+        return findBy(TaskSpecifications.page(filter, after),
+            query -> query.sortBy(filter.getSort().toSort()).limit(limit.max()).all());
+    }
+
+    @Query("select new io.github.mertso13.taskmanagerapi.dto.TaskVersion(t.version, t.updatedAt) from Task t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new io.github.mertso13.taskmanagerapi.dto.TaskStatusCount(t.status, count(t)) from Task t group by t.status")
+    List<TaskStatusCount> countByStatus();
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    @Query("""
+        select t.id from Task t
+        where t.id > :afterId
+          and (:status is null or t.status = :status)
+          and (:createdBefore is null or t.createdAt < :createdBefore)
+        order by t.id
+        """)
+    List<Long> findIdsMatching(@Param("afterId") long afterId, @Param("status") TaskStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore, Limit limit);
+
+    // Keyset scan for the retention job, in (updatedAt, id) order along idx_tasks_status_updated_at_id.
+    @Query("""
+        select new io.github.mertso13.taskmanagerapi.dto.TaskIdUpdatedAt(t.id, t.updatedAt) from Task t
+        where t.status = :status
+          and t.updatedAt < :updatedBefore
+          and (:afterUpdatedAt is null or t.updatedAt > :afterUpdatedAt
+               or (t.updatedAt = :afterUpdatedAt and t.id > :afterId))
+        order by t.updatedAt, t.id
+        """)
+    List<TaskIdUpdatedAt> findKeysUpdatedBefore(@Param("status") TaskStatus status,
+            @Param("updatedBefore") LocalDateTime updatedBefore, @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") long afterId, Limit limit);
+
+    // Rows that changed since the scan no longer match and are left alone.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        select t.id from Task t
+        where t.id in :ids
+          and t.status = :status
+          and t.updatedAt < :updatedBefore
+        """)
+    List<Long> lockUpdatedBefore(@Param("ids") List<Long> ids, @Param("status") TaskStatus status,
+            @Param("updatedBefore") LocalDateTime updatedBefore);
+
+    // Locks the rows a bulk statement is about to change so their previous status is exact.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        select new io.github.mertso13.taskmanagerapi.dto.TaskIdStatus(t.id, t.status) from Task t
+        where t.id in :ids
+          and (:status is null or t.status = :status)
+          and (:createdBefore is null or t.createdAt < :createdBefore)
+        """)
+    List<TaskIdStatus> lockStatusesMatching(@Param("ids") List<Long> ids, @Param("status") TaskStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore);
+
+    // The filter is repeated so rows changed since the ids were selected are left alone.
+    @Modifying
+    @Query("""
+        update Task t
+        set t.status = :newStatus, t.version = t.version + 1, t.updatedAt = :updatedAt
+        where t.id in :ids
+          and (:status is null or t.status = :status)
+          and (:createdBefore is null or t.createdAt < :createdBefore)
+        """)
+    int updateStatusMatching(@Param("ids") List<Long> ids, @Param("status") TaskStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore, @Param("newStatus") TaskStatus newStatus,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("""
+        delete from Task t
+        where t.id in :ids
+          and (:status is null or t.status = :status)
+          and (:createdBefore is null or t.createdAt < :createdBefore)
+        """)
+    int deleteMatching(@Param("ids") List<Long> ids, @Param("status") TaskStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore);
+
+    // Single-statement deletes that hand back the deleted row's status (see TaskRepositoryCustomImpl).
+    @Query(value = "select status from old table (delete from tasks where id = :id)", nativeQuery = true)
+    List<String> deleteReturningStatus(@Param("id") Long id);
 
+    @Query(value = "select status from old table (delete from tasks where id = :id and version = :version)", nativeQuery = true)
+    List<String> deleteByIdAndVersionReturningStatus(@Param("id") Long id, @Param("version") Long version);
 }
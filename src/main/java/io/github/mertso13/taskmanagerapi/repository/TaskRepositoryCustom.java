@@ -0,0 +1,24 @@
+package io.github.mertso13.taskmanagerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.model.Task;
+
+public interface TaskRepositoryCustom {
+
+    // One UPDATE that sets only the non-null name, description and status of changes, plus
+    // updatedAt and version. Returns the row as it was before, or empty if nothing matched.
+    Optional<Task> patchReturningPrevious(Long id, Task changes, LocalDateTime updatedAt, Long expectedVersion);
+
+    // Same page as TaskRepository.findPage, but selecting only the given columns.
+    List<TaskView> findViewPage(TaskFilter filter, TaskCursor after, Set<TaskField> fields, int limit);
+
+    Optional<TaskView> findViewById(Long id, Set<TaskField> fields);
+}
@@ -0,0 +1,140 @@
+package io.github.mertso13.taskmanagerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    // H2's OLD TABLE delta wraps the UPDATE, so the previous row comes back in the same round
+    // trip (RETURNING on PostgreSQL). Results are read as a Tuple, not as Task, so no stale
+    // managed entity ends up in the persistence context.
+    @Override
+    public Optional<Task> patchReturningPrevious(Long id, Task changes, LocalDateTime updatedAt, Long expectedVersion) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (changes.getName() != null) {
+            columns.put("name", changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            columns.put("description", changes.getDescription());
+        }
+        if (changes.getStatus() != null) {
+            columns.put("status", changes.getStatus().name());
+        }
+
+        List<String> assignments = new ArrayList<>();
+        columns.keySet().forEach(column -> assignments.add(column + " = :" + column));
+        assignments.add("updated_at = :updatedAt");
+        assignments.add("version = version + 1");
+        String sql = "select id, name, description, status, created_at, updated_at, version from old table ("
+            + "update tasks set " + String.join(", ", assignments)
+            + " where id = :id" + (expectedVersion != null ? " and version = :version" : "") + ")";
+
+        // unwrap(Class) cannot name the type argument; the query was created for Tuple just above.
+        @SuppressWarnings("unchecked")
+        NativeQuery<Tuple> query = entityManager.createNativeQuery(sql, Tuple.class).unwrap(NativeQuery.class);
+        query.addScalar("id", Long.class)
+            .addScalar("name", String.class)
+            .addScalar("description", String.class)
+            .addScalar("status", String.class)
+            .addScalar("created_at", LocalDateTime.class)
+            .addScalar("updated_at", LocalDateTime.class)
+            .addScalar("version", Long.class);
+        columns.forEach(query::setParameter);
+        query.setParameter("updatedAt", updatedAt);
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.getResultList().stream().findFirst().map(TaskRepositoryCustomImpl::toTask);
+    }
+
+    // Tuple queries over just the requested attributes: the SELECT list has only those columns and
+    // Hibernate hands back values, not managed Task instances.
+    @Override
+    public List<TaskView> findViewPage(TaskFilter filter, TaskCursor after, Set<TaskField> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        select(query, root, cb, fields);
+        query.where(TaskSpecifications.page(filter, after).toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(filter.getSort().toSort(), root, cb));
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList()
+            .stream()
+            .map(row -> toView(row, fields))
+            .toList();
+    }
+
+    @Override
+    public Optional<TaskView> findViewById(Long id, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        select(query, root, cb, fields);
+        query.where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .map(row -> toView(row, fields));
+    }
+
+    private static void select(CriteriaQuery<Tuple> query, Root<Task> root, CriteriaBuilder cb, Set<TaskField> fields) {
+        query.select(cb.tuple(fields.stream()
+            .<Selection<?>>map(field -> root.get(field.attribute()).alias(field.attribute()))
+            .toList()));
+    }
+
+    private static TaskView toView(Tuple row, Set<TaskField> fields) {
+        return new TaskView(
+            value(row, fields, TaskField.ID, Long.class),
+            value(row, fields, TaskField.NAME, String.class),
+            value(row, fields, TaskField.DESCRIPTION, String.class),
+            value(row, fields, TaskField.STATUS, TaskStatus.class),
+            value(row, fields, TaskField.CREATED_AT, LocalDateTime.class),
+            value(row, fields, TaskField.UPDATED_AT, LocalDateTime.class),
+            value(row, fields, TaskField.VERSION, Long.class));
+    }
+
+    private static <T> T value(Tuple row, Set<TaskField> fields, TaskField field, Class<T> type) {
+        return fields.contains(field) ? row.get(field.attribute(), type) : null;
+    }
+
+    private static Task toTask(Tuple row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setName(row.get("name", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setStatus(TaskStatus.valueOf(row.get("status", String.class)));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+}
@@ -0,0 +1,263 @@
+package io.github.mertso13.taskmanagerapi.retention;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.github.mertso13.taskmanagerapi.config.TaskRetentionProperties;
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskIdUpdatedAt;
+import io.github.mertso13.taskmanagerapi.dto.TaskRetentionStats;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.repository.TaskArchiveRepository;
+import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+import io.github.mertso13.taskmanagerapi.sharding.Shards;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+// Moves DONE tasks not updated for task.retention.max-age into tasks_archive, or deletes them
+// (mode=PURGE). Candidates are read in (updatedAt, id) keyset order, chunk-size at a time; each
+// chunk is locked, copied and deleted in its own short transaction, with chunk-delay between
+// chunks and a longer wait while the connection pool is under pressure. Deletes are published
+// as TaskChangedEvents, so the cache, counters, search index, feed and replica follow.
+// A run has its own thread rather than the shared scheduler's. pause() stops it after the current
+// chunk; the next run starts from the oldest remaining candidate, as moved rows are gone.
+@Slf4j
+@Component
+public class TaskRetention implements SmartLifecycle, MeterBinder {
+
+    private final TaskRetentionProperties properties;
+    private final TaskShardingProperties shardingProperties;
+    private final TaskRepository taskRepository;
+    private final TaskArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSource dataSource;
+
+    private final AtomicBoolean active = new AtomicBoolean();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder lastRunTasks = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile Thread worker;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile LocalDateTime lastRunCutoff;
+
+    public TaskRetention(TaskRetentionProperties properties, TaskShardingProperties shardingProperties,
+            TaskRepository taskRepository, TaskArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher, DataSource dataSource) {
+        if (properties.getChunkSize() < 1) {
+            throw new IllegalStateException("task.retention.chunk-size must be at least 1.");
+        }
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+        this.taskRepository = taskRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.dataSource = dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${task.retention.interval:1h}", initialDelayString = "${task.retention.initial-delay:1m}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            trigger();
+        }
+    }
+
+    // Starts a run in the background; false if one is already going, the job is paused or the
+    // application is stopping.
+    public boolean trigger() {
+        if (stopped() || !active.compareAndSet(false, true)) {
+            return false;
+        }
+        worker = Thread.ofPlatform().name("task-retention").daemon(true).start(() -> {
+            try {
+                runNow();
+            } catch (RuntimeException ex) {
+                log.warn("Retention run failed after {} tasks", lastRunTasks.sum(), ex);
+            } finally {
+                active.set(false);
+            }
+        });
+        return true;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    // Runs on the calling thread; trigger() is the way in for everything but tests.
+    long runNow() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMaxAge());
+        lastRunStartedAt = LocalDateTime.now();
+        lastRunFinishedAt = null;
+        lastRunCutoff = cutoff;
+        lastRunTasks.reset();
+        int shards = shardingProperties.shardCount();
+        for (int shard = 0; shard < shards && !stopped(); shard++) {
+            Shards.on(shard, shards, () -> {
+                runShard(cutoff);
+                return null;
+            });
+        }
+        lastRunFinishedAt = LocalDateTime.now();
+        return lastRunTasks.sum();
+    }
+
+    private void runShard(LocalDateTime cutoff) {
+        TaskIdUpdatedAt after = null;
+        while (!stopped()) {
+            List<TaskIdUpdatedAt> keys = taskRepository.findKeysUpdatedBefore(TaskStatus.DONE, cutoff,
+                after == null ? null : after.updatedAt(), after == null ? 0 : after.id(),
+                Limit.of(properties.getChunkSize()));
+            if (keys.isEmpty()) {
+                return;
+            }
+            List<Long> ids = keys.stream().map(TaskIdUpdatedAt::id).toList();
+            int moved = transactionTemplate.execute(tx -> moveChunk(ids, cutoff));
+            chunks.increment();
+            lastRunTasks.add(moved);
+            (properties.getMode() == TaskRetentionProperties.Mode.ARCHIVE ? archived : purged).add(moved);
+            if (keys.size() < properties.getChunkSize()) {
+                return;
+            }
+            after = keys.get(keys.size() - 1);
+            throttle();
+        }
+    }
+
+    private int moveChunk(List<Long> ids, LocalDateTime cutoff) {
+        List<Long> locked = taskRepository.lockUpdatedBefore(ids, TaskStatus.DONE, cutoff);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        if (properties.getMode() == TaskRetentionProperties.Mode.ARCHIVE) {
+            archiveRepository.copyFromTasks(locked, LocalDateTime.now());
+        }
+        int deleted = taskRepository.deleteMatching(locked, null, null);
+        locked.forEach(id -> eventPublisher.publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.DELETED, id, null, TaskStatus.DONE, null)));
+        return deleted;
+    }
+
+    private void throttle() {
+        sleep(properties.getChunkDelay());
+        while (!stopped() && poolUnderPressure()) {
+            throttled.increment();
+            sleep(properties.getBusyDelay());
+        }
+    }
+
+    // Requests are waiting for a connection, or every connection the pool may open is in use.
+    // Only known for Hikari pools; with sharding this is the current shard's pool.
+    private boolean poolUnderPressure() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return false;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null && (pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= hikari.getMaximumPoolSize());
+        } catch (java.sql.SQLException ex) {
+            return false;
+        }
+    }
+
+    private boolean stopped() {
+        return paused || !running;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public TaskRetentionStats stats() {
+        return new TaskRetentionStats(properties.isEnabled(), properties.getMode(), paused, active.get(),
+            lastRunStartedAt, lastRunFinishedAt, lastRunCutoff, lastRunTasks.sum(),
+            archived.sum(), purged.sum(), chunks.sum(), throttled.sum());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Before the pools close: the current chunk finishes, then the run ends.
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.retention.tasks", archived, LongAdder::sum)
+            .description("DONE tasks moved out of the tasks table by the retention job")
+            .tag("action", "archived")
+            .register(registry);
+        FunctionCounter.builder("tasks.retention.tasks", purged, LongAdder::sum)
+            .description("DONE tasks moved out of the tasks table by the retention job")
+            .tag("action", "purged")
+            .register(registry);
+        FunctionCounter.builder("tasks.retention.chunks", chunks, LongAdder::sum)
+            .description("Retention chunks committed")
+            .register(registry);
+        FunctionCounter.builder("tasks.retention.throttled", throttled, LongAdder::sum)
+            .description("Waits of the retention job because the connection pool was busy")
+            .register(registry);
+        Gauge.builder("tasks.retention.run.tasks", lastRunTasks, LongAdder::sum)
+            .description("Tasks moved by the current or last retention run")
+            .register(registry);
+        Gauge.builder("tasks.retention.running", active, flag -> flag.get() ? 1 : 0)
+            .description("1 while a retention run is in progress")
+            .register(registry);
+        Gauge.builder("tasks.retention.paused", this, retention -> retention.paused ? 1 : 0)
+            .description("1 while the retention job is paused")
+            .register(registry);
+    }
+}
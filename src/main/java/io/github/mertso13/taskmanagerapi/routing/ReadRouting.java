@@ -0,0 +1,38 @@
+package io.github.mertso13.taskmanagerapi.routing;
+
+import java.util.function.Supplier;
+
+// Per-thread override that sends read-only transactions to the primary instead of the replica.
+// Set for a request by ReadRoutingInterceptor, or around code that must not see replica lag.
+// Without a replica configured it has no effect.
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY.get() != null;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    static void forcePrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY.remove();
+    }
+}
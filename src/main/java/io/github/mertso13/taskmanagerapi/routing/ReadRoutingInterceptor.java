@@ -0,0 +1,68 @@
+package io.github.mertso13.taskmanagerapi.routing;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.mertso13.taskmanagerapi.config.TaskClientProperties;
+import io.github.mertso13.taskmanagerapi.config.TaskDataSourceProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Decides per request whether reads may be served by the replica. They go to the primary when the
+// client asks for it with X-Read-Primary: true, or when the same client completed a write within
+// task.datasource.read-your-writes, so it does not miss its own change while the replica catches up.
+// Writes are remembered per instance; behind a load balancer, clients that need it across instances
+// should send the header.
+@Component
+@ConditionalOnProperty(prefix = "task.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String PRIMARY_HEADER = "X-Read-Primary";
+
+    private final TaskClientProperties clientProperties;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadRoutingInterceptor(TaskDataSourceProperties properties, TaskClientProperties clientProperties) {
+        this.clientProperties = clientProperties;
+        Duration window = properties.getReadYourWrites();
+        this.recentWriters = window.isPositive()
+            ? Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(window).build()
+            : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isRead(request) && ("true".equalsIgnoreCase(request.getHeader(PRIMARY_HEADER))
+                || recentWriters != null && recentWriters.getIfPresent(clientProperties.clientKey(request)) != null)) {
+            ReadRouting.forcePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+
+    // The window starts when the response is complete, i.e. after the write has committed.
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReadRouting.clear();
+        if (recentWriters != null && !isRead(request)) {
+            recentWriters.put(clientProperties.clientKey(request), Boolean.TRUE);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.mertso13.taskmanagerapi.routing;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Source of read-only connections: the replica, unless ReadRouting forces the primary for the
+// current thread. Consulted once per read-only transaction, when its first statement runs.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadRouting.isPrimaryForced()) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.datasource.reads", replicaReads, LongAdder::sum)
+            .description("Read-only transactions by the database that served them")
+            .tag("target", "replica")
+            .register(registry);
+        FunctionCounter.builder("tasks.datasource.reads", primaryReads, LongAdder::sum)
+            .description("Read-only transactions by the database that served them")
+            .tag("target", "primary")
+            .register(registry);
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.mertso13.taskmanagerapi.routing;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.github.mertso13.taskmanagerapi.config.TaskDataSourceProperties;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+// Stand-in for database replication, so routing can be run against two local H2 databases. At
+// startup the replica gets the schema and a full copy of the tasks table. After that, every
+// committed change queues its task id; once task.datasource.replication.lag has passed, the row
+// is copied from the primary (or deleted from the replica if it is gone). The replica can only
+// fall behind, never diverge. With a real replica, set task.datasource.replication.enabled=false.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task.datasource", name = { "replica.enabled", "replication.enabled" }, havingValue = "true")
+public class TaskReplicator implements SmartInitializingSingleton, MeterBinder {
+
+    private static final String COLUMNS = "id, version, status, created_at, updated_at, name, description";
+    private static final String SELECT_ALL = "select " + COLUMNS + " from tasks order by id";
+    private static final String SELECT_BY_IDS = "select " + COLUMNS + " from tasks where id in (:ids)";
+    private static final String MERGE = "merge into tasks (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "delete from tasks where id = ?";
+
+    private final DataSource replicaDataSource;
+    private final JdbcTemplate primary;
+    private final NamedParameterJdbcTemplate primaryByIds;
+    private final JdbcTemplate replica;
+    private final TaskDataSourceProperties.Replication properties;
+
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder applied = new LongAdder();
+
+    // Straight to the two pools: going through the routing DataSource would read from the replica.
+    public TaskReplicator(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource, TaskDataSourceProperties properties) {
+        this.replicaDataSource = replicaDataSource;
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.primaryByIds = new NamedParameterJdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.properties = properties.getReplication();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica.update("delete from tasks");
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        long[] copied = { 0 };
+        primary.query(SELECT_ALL, rs -> {
+            batch.add(row(rs));
+            if (batch.size() == properties.getBatchSize()) {
+                copied[0] += replica.batchUpdate(MERGE, batch).length;
+                batch.clear();
+            }
+        });
+        copied[0] += replica.batchUpdate(MERGE, batch).length;
+        log.info("Replica initialised with {} tasks.", copied[0]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pending.add(new Change(event.getTaskId(), System.nanoTime()));
+        pendingCount.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${task.datasource.replication.poll-interval:20ms}")
+    public void replicate() {
+        long dueBefore = System.nanoTime() - properties.getLag().toNanos();
+        while (true) {
+            // The only consumer, so the head cannot change between peek and poll.
+            Set<Long> ids = new LinkedHashSet<>();
+            List<Change> taken = new ArrayList<>();
+            Change head;
+            while (taken.size() < properties.getBatchSize() && (head = pending.peek()) != null
+                    && head.committedNanos() - dueBefore <= 0) {
+                taken.add(pending.poll());
+                ids.add(head.taskId());
+            }
+            if (taken.isEmpty()) {
+                return;
+            }
+            try {
+                apply(ids);
+            } catch (RuntimeException ex) {
+                // Put the changes back at the end; the next run tries again.
+                log.warn("Could not replicate {} task changes.", ids.size(), ex);
+                pending.addAll(taken);
+                return;
+            }
+            pendingCount.addAndGet(-taken.size());
+            applied.add(taken.size());
+        }
+    }
+
+    private void apply(Set<Long> ids) {
+        Set<Long> deleted = new LinkedHashSet<>(ids);
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        primaryByIds.query(SELECT_BY_IDS, Map.of("ids", ids), rs -> {
+            deleted.remove(rs.getLong(1));
+            rows.add(row(rs));
+        });
+        replica.batchUpdate(MERGE, rows);
+        replica.batchUpdate(DELETE, deleted.stream().map(id -> new Object[] { id }).toList());
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        return new Object[] { rs.getLong(1), rs.getObject(2), rs.getString(3), rs.getTimestamp(4), rs.getTimestamp(5),
+            rs.getString(6), rs.getString(7) };
+    }
+
+    // Milliseconds since the oldest change still waiting was committed; 0 when the replica is current.
+    double delayMillis() {
+        Change head = pending.peek();
+        return head == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.committedNanos());
+    }
+
+    int pending() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.replication.pending", pendingCount, AtomicInteger::get)
+            .description("Committed task changes not yet copied to the replica")
+            .register(registry);
+        Gauge.builder("tasks.replication.delay", this, TaskReplicator::delayMillis)
+            .description("Age of the oldest change not yet copied to the replica")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter.builder("tasks.replication.applied", applied, LongAdder::sum)
+            .description("Task changes copied to the replica")
+            .register(registry);
+    }
+
+    private record Change(long taskId, long committedNanos) {
+    }
+}
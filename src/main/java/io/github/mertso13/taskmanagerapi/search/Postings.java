@@ -0,0 +1,91 @@
+package io.github.mertso13.taskmanagerapi.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Sorted, growable long[] of task ids. Ids are mostly handed out in increasing order, so
+// adding is an append in the common case. Not thread-safe; TaskSearchIndex guards it.
+final class Postings {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            insertAt(-at - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    boolean remove(long id) {
+        int at = Arrays.binarySearch(ids, 0, size, id);
+        if (at < 0) {
+            return false;
+        }
+        System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    // Gathers every list into one array and sorts it once, rather than merging the lists pairwise,
+    // which would copy the growing result once per term of a wide prefix.
+    static Postings union(Collection<Postings> lists) {
+        int total = 0;
+        for (Postings list : lists) {
+            total += list.size;
+        }
+        long[] all = new long[Math.max(total, INITIAL_CAPACITY)];
+        int n = 0;
+        for (Postings list : lists) {
+            System.arraycopy(list.ids, 0, all, n, list.size);
+            n += list.size;
+        }
+        Arrays.sort(all, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || all[unique - 1] != all[i]) {
+                all[unique++] = all[i];
+            }
+        }
+        Postings result = new Postings();
+        result.ids = all;
+        result.size = unique;
+        return result;
+    }
+
+    private void insertAt(int at, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        ids[at] = id;
+        size++;
+    }
+}
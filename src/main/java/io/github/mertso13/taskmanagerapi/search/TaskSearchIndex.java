@@ -0,0 +1,254 @@
+package io.github.mertso13.taskmanagerapi.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskSearchStats;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+import io.github.mertso13.taskmanagerapi.sharding.Shards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+// Inverted index over task name and description: token -> sorted task ids. Built once before
+// the web server starts and then kept current from TaskChangedEvents after commit. Readers
+// share a read lock, so searches only wait while a single task is being (re)indexed.
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndex implements SmartInitializingSingleton, MeterBinder {
+
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Rough HotSpot sizes with compressed oops, used only for the memory estimate.
+    private static final int TERM_OVERHEAD_BYTES = 40 + 24 + 32 + 24;
+    private static final int DOCUMENT_OVERHEAD_BYTES = 32 + 16 + 16;
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardingProperties shardingProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Tokens each task is listed under, so an update or delete can find its postings.
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    // One index over all shards: the ids are unique across them.
+    @Override
+    public void afterSingletonsInstantiated() {
+        int shards = shardingProperties.shardCount();
+        for (int shard = 0; shard < shards; shard++) {
+            Shards.on(shard, shards, () -> transactionTemplate.execute(status -> {
+                try (Stream<Task> tasks = taskRepository.streamAll()) {
+                    tasks.forEach(task -> {
+                        index(task);
+                        entityManager.detach(task);
+                    });
+                }
+                return null;
+            }));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            remove(event.getTaskId());
+        } else if (event.getTask() != null) {
+            // Bulk status updates carry no task; status is not indexed, so there is nothing to do.
+            index(event.getTask());
+        }
+    }
+
+    public void index(Task task) {
+        String text = task.getDescription() == null ? task.getName() : task.getName() + " " + task.getDescription();
+        String[] tokens = tokenize(text).toArray(String[]::new);
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            unlink(task.getId());
+            for (int i = 0; i < tokens.length; i++) {
+                Postings postings = terms.get(tokens[i]);
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(tokens[i], postings);
+                } else {
+                    // Share the dictionary's String instead of keeping a copy per task.
+                    tokens[i] = terms.ceilingKey(tokens[i]);
+                }
+                postings.add(task.getId());
+            }
+            documents.put(task.getId(), tokens);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            unlink(id);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // Every word must match; a trailing '*' makes the last word of that term a prefix.
+    // Returns up to limit ids, newest first.
+    public List<Long> search(String query, int limit) {
+        List<String> exact = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String term : query.trim().split("\\s+")) {
+            boolean prefix = term.endsWith("*");
+            List<String> words = List.copyOf(tokenize(term));
+            for (int i = 0; i < words.size(); i++) {
+                if (prefix && i == words.size() - 1) {
+                    if (words.get(i).length() < MIN_PREFIX_LENGTH) {
+                        throw new IllegalArgumentException(
+                            "Prefix terms need at least " + MIN_PREFIX_LENGTH + " characters.");
+                    }
+                    prefixes.add(words.get(i));
+                } else {
+                    exact.add(words.get(i));
+                }
+            }
+        }
+        if (exact.isEmpty() && prefixes.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word.");
+        }
+
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String word : exact) {
+                Postings postings = terms.get(word);
+                if (postings == null) {
+                    return List.of();
+                }
+                lists.add(postings);
+            }
+            for (String prefix : prefixes) {
+                Postings postings = Postings.union(terms.subMap(prefix, prefix + Character.MAX_VALUE).values());
+                if (postings.isEmpty()) {
+                    return List.of();
+                }
+                lists.add(postings);
+            }
+            return intersect(lists, limit);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public long documentCount() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return documents.size();
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public TaskSearchStats stats() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            long postingsCount = 0;
+            long bytes = 0;
+            for (Map.Entry<String, Postings> term : terms.entrySet()) {
+                postingsCount += term.getValue().size();
+                bytes += TERM_OVERHEAD_BYTES + 2L * term.getKey().length() + 8L * term.getValue().capacity();
+            }
+            for (String[] tokens : documents.values()) {
+                bytes += DOCUMENT_OVERHEAD_BYTES + 4L * tokens.length;
+            }
+            double perTask = documents.isEmpty() ? 0 : (double) bytes / documents.size();
+            return new TaskSearchStats(documents.size(), terms.size(), postingsCount, bytes, perTask);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.search.documents", this, TaskSearchIndex::documentCount)
+            .description("Tasks in the search index")
+            .register(registry);
+        Gauge.builder("tasks.search.memory", this, index -> index.stats().getEstimatedBytes())
+            .description("Estimated heap used by the search index")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Walks the shortest list from the end and probes the others, so the cost is bounded by
+    // the rarest word rather than the most common one, and stops once limit ids are found.
+    private static List<Long> intersect(List<Postings> lists, int limit) {
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings driver = lists.get(0);
+        List<Long> result = new ArrayList<>(Math.min(limit, driver.size()));
+        for (int i = driver.size() - 1; i >= 0 && result.size() < limit; i--) {
+            long id = driver.get(i);
+            boolean all = true;
+            for (int j = 1; j < lists.size() && all; j++) {
+                all = lists.get(j).contains(id);
+            }
+            if (all) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void unlink(Long id) {
+        String[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous) {
+            Postings postings = terms.get(token);
+            if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                terms.remove(token);
+            }
+        }
+    }
+}
@@ -1,13 +1,54 @@
 package io.github.mertso13.taskmanagerapi.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import io.github.mertso13.taskmanagerapi.dto.ArchivedTaskPage;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
 import io.github.mertso13.taskmanagerapi.model.Task;
 
 public interface TaskService {
-    List<Task> getAllTasks();
+    TaskPage getTasks(TaskFilter filter, String after, Integer limit);
+    TaskViewPage getTaskViews(TaskFilter filter, String after, Integer limit, Set<TaskField> fields);
+    void exportTasks(Consumer<Task> sink);
+    List<Task> searchTasks(String query, Integer limit);
+    TaskStats getStats();
     Task getTaskByID(Long id);
+    TaskView getTaskView(Long id, Set<TaskField> fields);
     Task createTask(Task task);
-    Task updateTask(Long id, Task updatedTask);
-    void deleteTask(Long id);
+    TaskSubmission submitTask(Task task);
+    TaskSubmission getSubmission(String ticket);
+    List<BatchItemResult> createTasks(List<Task> tasks);
+    TaskVersion getTaskVersion(Long id);
+    Task updateTask(Long id, Task updatedTask, Long expectedVersion);
+    Task patchTask(Long id, Task changes, Long expectedVersion);
+    void deleteTask(Long id, Long expectedVersion);
+
+    default TaskPage getTasks(String after, Integer limit) {
+        return getTasks(new TaskFilter(), after, limit);
+    }
+
+    default Task updateTask(Long id, Task updatedTask) {
+        return updateTask(id, updatedTask, null);
+    }
+
+    default void deleteTask(Long id) {
+        deleteTask(id, null);
+    }
+
+    long bulkUpdateStatus(BulkTaskRequest request);
+    long bulkDelete(BulkTaskRequest request);
+    ArchivedTaskPage getArchivedTasks(String after, Integer limit);
+    ArchivedTask getArchivedTask(Long id);
 }
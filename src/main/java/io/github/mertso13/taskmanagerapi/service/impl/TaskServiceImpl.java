@@ -1,45 +1,293 @@
 package io.github.mertso13.taskmanagerapi.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import io.github.mertso13.taskmanagerapi.cache.TaskCache;
+import io.github.mertso13.taskmanagerapi.dto.ArchivedTaskPage;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskIdStatus;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.exception.PreconditionFailedException;
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
 import io.github.mertso13.taskmanagerapi.model.Task;
 import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.repository.TaskArchiveRepository;
 import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+import io.github.mertso13.taskmanagerapi.routing.ReadRouting;
+import io.github.mertso13.taskmanagerapi.search.TaskSearchIndex;
 import io.github.mertso13.taskmanagerapi.service.TaskService;
+import io.github.mertso13.taskmanagerapi.stats.TaskStatusCounters;
+import io.github.mertso13.taskmanagerapi.writebehind.TaskWriteBehind;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int MAX_BULK_IDS = 100_000;
+    private static final int BATCH_FLUSH_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatusCounters taskStatusCounters;
+    private final TaskWriteBehind taskWriteBehind;
+    private final TaskArchiveRepository taskArchiveRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(TaskFilter filter, String after, Integer limit) {
+        int pageSize = pageSize(limit);
+        validate(filter);
+
+        TaskCursor cursor = decode(after, filter);
+        // Fetch one extra row to find out whether another page exists.
+        List<Task> tasks = taskRepository.findPage(filter, cursor, Limit.of(pageSize + 1));
+
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<Task> page = tasks.subList(0, pageSize);
+        return new TaskPage(page, TaskCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskViewPage getTaskViews(TaskFilter filter, String after, Integer limit, Set<TaskField> fields) {
+        int pageSize = pageSize(limit);
+        validate(filter);
+
+        // The cursor is built from the last row, so it needs createdAt when the page is sorted by it;
+        // the column is cleared again before the page goes out if the client did not ask for it.
+        Set<TaskField> selected = TaskField.withCursor(fields, filter.getSort());
+        TaskCursor cursor = decode(after, filter);
+        List<TaskView> views = taskRepository.findViewPage(filter, cursor, selected, pageSize + 1);
+
+        if (views.size() <= pageSize) {
+            return new TaskViewPage(views.stream().map(view -> view.only(fields)).toList(), null);
+        }
+        List<TaskView> page = views.subList(0, pageSize);
+        TaskView last = page.get(pageSize - 1);
+        return new TaskViewPage(page.stream().map(view -> view.only(fields)).toList(),
+            new TaskCursor(last.createdAt(), last.id()).encode());
+    }
+
+    private static int pageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return pageSize;
+    }
+
+    private static TaskCursor decode(String after, TaskFilter filter) {
+        if (after == null || after.isBlank()) {
+            return null;
+        }
+        TaskCursor cursor = TaskCursor.decode(after);
+        if (cursor.createdAt() == null && filter.getSort().byCreatedAt()) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return cursor;
+    }
+
+    private static void validate(TaskFilter filter) {
+        if (filter.getSort() == null) {
+            filter.setSort(TaskSort.CREATED_AT);
+        }
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && !filter.getCreatedFrom().isBefore(filter.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo.");
+        }
+    }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public void exportTasks(Consumer<Task> sink) {
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            tasks.forEach(task -> {
+                sink.accept(task);
+                // Keep the persistence context from growing with the table.
+                entityManager.detach(task);
+            });
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
+    public List<Task> searchTasks(String query, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty.");
+        }
+
+        List<Long> ids = taskSearchIndex.search(query, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> found = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> found.put(task.getId(), task));
+        // Keep the index's newest-first order; ids deleted since the lookup are skipped.
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    // Served from in-memory counters only; no transaction, no query.
+    @Override
+    public TaskStats getStats() {
+        Map<TaskStatus, Long> counts = taskStatusCounters.counts();
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new TaskStats(counts, total);
+    }
+
+    // Not @Transactional: a cache hit should not open a transaction, and findById brings its own on a miss.
+    @Override
     public Task getTaskByID(Long id) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Task id must be a positive number.");
         }
 
-        return taskRepository.findById(id)
+        return taskCache.get(id, () -> taskRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id)));
+    }
+
+    // A cached task already holds every column; otherwise only the requested ones are read.
+    @Override
+    public TaskView getTaskView(Long id, Set<TaskField> fields) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Task id must be a positive number.");
+        }
+
+        Task cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return TaskView.of(cached, fields);
+        }
+        return taskRepository.findViewById(id, fields)
+            .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id));
+    }
+
+    @Override
+    public TaskVersion getTaskVersion(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Task id must be a positive number.");
+        }
+
+        Task cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return new TaskVersion(cached.getVersion(), cached.getUpdatedAt());
+        }
+        return taskRepository.findVersionById(id)
             .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id));
     }
 
     @Override
     @Transactional
     public Task createTask(Task task) {
+        prepareNewTask(task);
+        Task savedTask = taskRepository.save(task);
+        publish(TaskChangedEvent.Type.CREATED, savedTask, null);
+        return savedTask;
+    }
+
+    // Validated here so the caller gets a 400 right away; the insert happens in a later group commit.
+    @Override
+    public TaskSubmission submitTask(Task task) {
+        prepareNewTask(task);
+        return taskWriteBehind.enqueue(task);
+    }
+
+    @Override
+    public TaskSubmission getSubmission(String ticket) {
+        TaskSubmission submission = taskWriteBehind.getSubmission(ticket);
+        if (submission == null) {
+            throw new EntityNotFoundException("Submission not found: " + ticket);
+        }
+        return submission;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult> createTasks(List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            throw new IllegalArgumentException("Task payload is required.");
+        }
+        if (tasks.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_SIZE + " tasks.");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(tasks.size());
+        List<Task> chunk = new ArrayList<>(BATCH_FLUSH_SIZE);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            try {
+                prepareNewTask(task);
+            } catch (IllegalArgumentException ex) {
+                results.add(BatchItemResult.rejected(i, ex.getMessage()));
+                continue;
+            }
+            results.add(BatchItemResult.created(i, task));
+            chunk.add(task);
+            if (chunk.size() == BATCH_FLUSH_SIZE) {
+                persistChunk(chunk);
+            }
+        }
+        persistChunk(chunk);
+        return results;
+    }
+
+    // Flushes as JDBC batches (hibernate.jdbc.batch_size) and clears so the context stays small.
+    private void persistChunk(List<Task> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.forEach(task -> publish(TaskChangedEvent.Type.CREATED, task, null));
+        chunk.clear();
+    }
+
+    private void prepareNewTask(Task task) {
         if (task == null) {
             throw new IllegalArgumentException("Task payload is required.");
         }
@@ -55,13 +303,13 @@ public class TaskServiceImpl implements TaskService {
         if (task.getCreatedAt() == null) { // not likely but just in case
             task.setCreatedAt(LocalDateTime.now());
         }
-
-        return taskRepository.save(task);
+        task.setUpdatedAt(task.getCreatedAt());
+        task.setVersion(null);
     }
 
     @Override
     @Transactional
-    public Task updateTask(Long id, Task updatedTask) {
+    public Task updateTask(Long id, Task updatedTask, Long expectedVersion) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Task id must be a positive number.");
         }
@@ -71,6 +319,10 @@ public class TaskServiceImpl implements TaskService {
 
         Task existingTask = taskRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Task not found: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+            throw new PreconditionFailedException("Task " + id + " no longer matches version " + expectedVersion + ".");
+        }
+        TaskStatus previousStatus = existingTask.getStatus();
 
         if (updatedTask.getName() != null) {
             String name = updatedTask.getName().trim();
@@ -86,18 +338,184 @@ public class TaskServiceImpl implements TaskService {
             existingTask.setStatus(updatedTask.getStatus());
         }
 
-        return taskRepository.save(existingTask);
+        existingTask.setUpdatedAt(LocalDateTime.now());
+
+        Task savedTask;
+        if (expectedVersion == null) {
+            savedTask = taskRepository.save(existingTask);
+        } else {
+            // Flush now so a concurrent writer that slipped past the check above surfaces as 412, not 409.
+            try {
+                savedTask = taskRepository.saveAndFlush(existingTask);
+            } catch (OptimisticLockingFailureException ex) {
+                throw new PreconditionFailedException("Task " + id + " no longer matches version " + expectedVersion + ".");
+            }
+        }
+        publish(TaskChangedEvent.Type.UPDATED, savedTask, previousStatus);
+        return savedTask;
+    }
+
+    @Override
+    @Transactional
+    public void deleteTask(Long id, Long expectedVersion) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Task id must be a positive number.");
+        }
+        // One DELETE; an empty result means nothing matched, and only then is a second query
+        // needed to tell a missing task (404) from a version mismatch (412).
+        List<String> deleted = expectedVersion == null
+            ? taskRepository.deleteReturningStatus(id)
+            : taskRepository.deleteByIdAndVersionReturningStatus(id, expectedVersion);
+        if (deleted.isEmpty()) {
+            throw notUpdated(id, expectedVersion);
+        }
+        TaskStatus previousStatus = TaskStatus.valueOf(deleted.get(0));
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, id, null, previousStatus, null));
     }
 
     @Override
     @Transactional
-    public void deleteTask(Long id) {
+    public Task patchTask(Long id, Task changes, Long expectedVersion) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Task id must be a positive number.");
         }
-        if (!taskRepository.existsById(id)) {
-            throw new EntityNotFoundException("Task not found: " + id);
+        if (changes == null
+                || (changes.getName() == null && changes.getDescription() == null && changes.getStatus() == null)) {
+            throw new IllegalArgumentException("At least one of name, description or status is required.");
+        }
+        if (changes.getName() != null) {
+            String name = changes.getName().trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Task name must not be blank.");
+            }
+            changes.setName(name);
+        }
+
+        LocalDateTime updatedAt = LocalDateTime.now();
+        Task previous = taskRepository.patchReturningPrevious(id, changes, updatedAt, expectedVersion)
+            .orElseThrow(() -> notUpdated(id, expectedVersion));
+
+        // The new state is the previous row plus exactly what the UPDATE set; no reload needed.
+        Task patched = new Task();
+        patched.setId(previous.getId());
+        patched.setName(changes.getName() != null ? changes.getName() : previous.getName());
+        patched.setDescription(changes.getDescription() != null ? changes.getDescription() : previous.getDescription());
+        patched.setStatus(changes.getStatus() != null ? changes.getStatus() : previous.getStatus());
+        patched.setCreatedAt(previous.getCreatedAt());
+        patched.setUpdatedAt(updatedAt);
+        patched.setVersion(previous.getVersion() + 1);
+        publish(TaskChangedEvent.Type.UPDATED, patched, previous.getStatus());
+        return patched;
+    }
+
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return new PreconditionFailedException("Task " + id + " no longer matches version " + expectedVersion + ".");
+        }
+        return new EntityNotFoundException("Task not found: " + id);
+    }
+
+    private void publish(TaskChangedEvent.Type type, Task task, TaskStatus previousStatus) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, task.getId(), task, previousStatus, task.getStatus()));
+    }
+
+    @Override
+    public long bulkUpdateStatus(BulkTaskRequest request) {
+        validateBulkRequest(request);
+        TaskStatus newStatus = request.getNewStatus();
+        if (newStatus == null) {
+            throw new IllegalArgumentException("New status is required.");
+        }
+        return applyInChunks(request, TaskChangedEvent.Type.UPDATED, newStatus, ids -> taskRepository.updateStatusMatching(
+            ids, request.getStatus(), request.getCreatedBefore(), newStatus, LocalDateTime.now()));
+    }
+
+    @Override
+    public long bulkDelete(BulkTaskRequest request) {
+        validateBulkRequest(request);
+        return applyInChunks(request, TaskChangedEvent.Type.DELETED, null, ids -> taskRepository.deleteMatching(
+            ids, request.getStatus(), request.getCreatedBefore()));
+    }
+
+    private void validateBulkRequest(BulkTaskRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Bulk payload is required.");
+        }
+        List<Long> ids = request.getIds();
+        if (ids == null && request.getStatus() == null && request.getCreatedBefore() == null) {
+            throw new IllegalArgumentException("Either ids or a filter (status, createdBefore) is required.");
+        }
+        if (ids != null && (ids.isEmpty() || ids.size() > MAX_BULK_IDS)) {
+            throw new IllegalArgumentException("Ids must contain between 1 and " + MAX_BULK_IDS + " entries.");
+        }
+        if (ids != null && ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new IllegalArgumentException("Task id must be a positive number.");
+        }
+    }
+
+    // Each chunk is one set-based statement in its own short transaction, so row locks are held briefly.
+    private long applyInChunks(BulkTaskRequest request, TaskChangedEvent.Type type, TaskStatus newStatus,
+            ToIntFunction<List<Long>> statement) {
+        long affected = 0;
+        List<Long> ids = request.getIds();
+        if (ids != null) {
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                affected += transactionTemplate.execute(tx -> applyChunk(chunk, request, type, newStatus, statement));
+            }
+            return affected;
+        }
+
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = taskRepository.findIdsMatching(
+                afterId, request.getStatus(), request.getCreatedBefore(), Limit.of(BULK_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1);
+            List<Long> current = chunk;
+            affected += transactionTemplate.execute(tx -> applyChunk(current, request, type, newStatus, statement));
+        } while (chunk.size() == BULK_CHUNK_SIZE);
+        return affected;
+    }
+
+    private int applyChunk(List<Long> ids, BulkTaskRequest request, TaskChangedEvent.Type type, TaskStatus newStatus,
+            ToIntFunction<List<Long>> statement) {
+        // Events need the status each row had, so the matching rows are read and locked first.
+        List<TaskIdStatus> rows = taskRepository.lockStatusesMatching(ids, request.getStatus(), request.getCreatedBefore());
+        if (rows.isEmpty()) {
+            return 0;
         }
-        taskRepository.deleteById(id);
+        int affected = statement.applyAsInt(ids);
+        rows.forEach(row -> eventPublisher.publishEvent(
+            new TaskChangedEvent(type, row.id(), null, row.status(), newStatus)));
+        return affected;
+    }
+
+    // Archived tasks in id order. The replica is only fed the tasks table, so these read the primary.
+    @Override
+    public ArchivedTaskPage getArchivedTasks(String after, Integer limit) {
+        int pageSize = pageSize(limit);
+        long afterId = after == null || after.isBlank() ? 0 : TaskCursor.decode(after).id();
+        List<ArchivedTask> tasks = ReadRouting.onPrimary(
+            () -> taskArchiveRepository.findByIdGreaterThanOrderById(afterId, Limit.of(pageSize + 1)));
+
+        if (tasks.size() <= pageSize) {
+            return new ArchivedTaskPage(tasks, null);
+        }
+        List<ArchivedTask> page = tasks.subList(0, pageSize);
+        return new ArchivedTaskPage(page, new TaskCursor(null, page.get(pageSize - 1).getId()).encode());
+    }
+
+    @Override
+    public ArchivedTask getArchivedTask(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("Task id must be a positive number.");
+        }
+
+        return ReadRouting.onPrimary(() -> taskArchiveRepository.findById(id))
+            .orElseThrow(() -> new EntityNotFoundException("Archived task not found: " + id));
     }
 }
@@ -0,0 +1,69 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// One DataSource over the shard pools: each connection, and so each transaction, goes to the shard
+// selected with Shards, or to shard 0 when none is (Flyway's history, Hibernate's schema validation
+// and the idempotency_keys table all live there).
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+    private final LongAdder[] connections;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+        this.connections = new LongAdder[shards.size()];
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+            connections[shard] = new LongAdder();
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public DataSource shard(int index) {
+        return shards.get(index);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Shards.Shard current = Shards.current();
+        int shard = current == null ? 0 : current.index();
+        connections[shard].increment();
+        return shard;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int shard = 0; shard < connections.length; shard++) {
+            FunctionCounter.builder("tasks.shard.connections", connections[shard], LongAdder::sum)
+                .description("Connections taken from each shard")
+                .tag("shard", Integer.toString(shard))
+                .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
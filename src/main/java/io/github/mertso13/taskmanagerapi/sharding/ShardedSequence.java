@@ -0,0 +1,18 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// A pooled sequence, like @SequenceGenerator, whose ids also encode the shard they were created on.
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface ShardedSequence {
+    String sequenceName();
+
+    int allocationSize() default 50;
+}
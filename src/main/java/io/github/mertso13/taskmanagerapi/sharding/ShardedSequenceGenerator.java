@@ -0,0 +1,51 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+// Hibernate's pooled sequence generator when there is a single shard. With more, each shard's
+// sequence hands out blocks of allocationSize local numbers, and the id is local * count + shard,
+// so ids are unique across shards and Shards.of(id) finds a task again without a lookup table.
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    private final ShardedSequence config;
+    private final ConcurrentMap<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    public ShardedSequenceGenerator(ShardedSequence config) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(config.allocationSize()));
+        super.configure(creationContext, parameters);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        Shards.Shard shard = Shards.current();
+        if (shard == null || shard.count() == 1) {
+            return super.generate(session, owner);
+        }
+        Block block = blocks.computeIfAbsent(shard.index(), index -> new Block());
+        synchronized (block) {
+            if (block.next == block.limit) {
+                // The session's connection belongs to the current shard, so this is its sequence.
+                block.next = getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue();
+                block.limit = block.next + getDatabaseStructure().getIncrementSize();
+            }
+            return block.next++ * shard.count() + shard.index();
+        }
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
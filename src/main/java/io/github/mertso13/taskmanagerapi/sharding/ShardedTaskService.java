@@ -0,0 +1,320 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.ArchivedTaskPage;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+import io.github.mertso13.taskmanagerapi.service.impl.TaskServiceImpl;
+
+// TaskService over the shards: runs TaskServiceImpl with the right shard selected before its
+// transaction starts. Calls for one id go to exactly the shard the id names; new tasks are spread
+// round-robin; pages, searches and filter-based bulk operations go to every shard in parallel and
+// their results are merged. Validation stays in TaskServiceImpl, which rejects the same input the
+// same way on every shard before touching the database.
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "task.sharding", name = "enabled", havingValue = "true")
+public class ShardedTaskService implements TaskService, DisposableBean {
+
+    private final TaskService delegate;
+    private final int shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final ExecutorService executor;
+
+    public ShardedTaskService(@Qualifier("taskServiceImpl") TaskService delegate, TaskShardingProperties properties) {
+        this.delegate = delegate;
+        this.shards = properties.shardCount();
+        // Sized so every connection of every shard can be busy at once; more threads would only
+        // wait in Hikari. Platform threads: on JDK 21 a fan-out call pinned to its carrier by
+        // synchronized JDBC code could stall the virtual threads running the other shards' calls.
+        this.executor = Executors.newFixedThreadPool(shards * properties.getMaximumPoolSize(),
+            new CustomizableThreadFactory("shard-query-"));
+    }
+
+    @Override
+    public TaskPage getTasks(TaskFilter filter, String after, Integer limit) {
+        TaskFilter shardFilter = withSort(filter);
+        List<TaskPage> pages = gather(shard -> delegate.getTasks(shardFilter, after, limit));
+
+        // Every shard applied the same cursor, so the next page starts after the last merged row.
+        List<Task> merged = new ArrayList<>();
+        pages.forEach(page -> merged.addAll(page.getItems()));
+        merged.sort(shardFilter.getSort().comparator(Task::getCreatedAt, Task::getId));
+        int pageSize = limit == null ? TaskServiceImpl.DEFAULT_PAGE_SIZE : limit;
+        if (merged.size() <= pageSize && pages.stream().allMatch(page -> page.getNextCursor() == null)) {
+            return new TaskPage(merged, null);
+        }
+        List<Task> page = merged.subList(0, pageSize);
+        return new TaskPage(page, TaskCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    @Override
+    public TaskViewPage getTaskViews(TaskFilter filter, String after, Integer limit, Set<TaskField> fields) {
+        TaskFilter shardFilter = withSort(filter);
+        // The shards keep the cursor columns, which the merge sorts by; they are cleared at the end.
+        Set<TaskField> selected = TaskField.withCursor(fields, shardFilter.getSort());
+        List<TaskViewPage> pages = gather(shard -> delegate.getTaskViews(shardFilter, after, limit, selected));
+
+        List<TaskView> merged = new ArrayList<>();
+        pages.forEach(page -> merged.addAll(page.getItems()));
+        merged.sort(shardFilter.getSort().comparator(TaskView::createdAt, TaskView::id));
+        int pageSize = limit == null ? TaskServiceImpl.DEFAULT_PAGE_SIZE : limit;
+        if (merged.size() <= pageSize && pages.stream().allMatch(page -> page.getNextCursor() == null)) {
+            return new TaskViewPage(merged.stream().map(view -> view.only(fields)).toList(), null);
+        }
+        List<TaskView> page = merged.subList(0, pageSize);
+        TaskView last = page.get(pageSize - 1);
+        return new TaskViewPage(page.stream().map(view -> view.only(fields)).toList(),
+            new TaskCursor(last.createdAt(), last.id()).encode());
+    }
+
+    // TaskServiceImpl fills in the default sort; do it once here rather than racing on a shared filter.
+    private static TaskFilter withSort(TaskFilter filter) {
+        if (filter != null && filter.getSort() == null) {
+            filter.setSort(TaskSort.CREATED_AT);
+        }
+        return filter;
+    }
+
+    // One shard after the other: the sink is written to by a single thread.
+    @Override
+    public void exportTasks(Consumer<Task> sink) {
+        for (int shard = 0; shard < shards; shard++) {
+            Shards.on(shard, shards, () -> {
+                delegate.exportTasks(sink);
+                return null;
+            });
+        }
+    }
+
+    // The search index is shared; each shard loads the matches it holds. The index returns newest
+    // (highest id) first, and the merge keeps that order.
+    @Override
+    public List<Task> searchTasks(String query, Integer limit) {
+        List<Task> merged = new ArrayList<>();
+        gather(shard -> delegate.searchTasks(query, limit)).forEach(merged::addAll);
+        merged.sort(Comparator.comparing(Task::getId).reversed());
+        return merged;
+    }
+
+    @Override
+    public TaskStats getStats() {
+        return delegate.getStats();
+    }
+
+    @Override
+    public Task getTaskByID(Long id) {
+        return onShardOf(id, () -> delegate.getTaskByID(id));
+    }
+
+    @Override
+    public TaskView getTaskView(Long id, Set<TaskField> fields) {
+        return onShardOf(id, () -> delegate.getTaskView(id, fields));
+    }
+
+    @Override
+    public TaskVersion getTaskVersion(Long id) {
+        return onShardOf(id, () -> delegate.getTaskVersion(id));
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return Shards.on(Math.floorMod(nextShard.getAndIncrement(), shards), shards, () -> delegate.createTask(task));
+    }
+
+    // The write-behind batches come back through createTasks, so they are spread like a batch.
+    @Override
+    public TaskSubmission submitTask(Task task) {
+        return delegate.submitTask(task);
+    }
+
+    @Override
+    public TaskSubmission getSubmission(String ticket) {
+        return delegate.getSubmission(ticket);
+    }
+
+    // The batch is dealt out round-robin and each shard inserts its part in one transaction, so
+    // a failing shard no longer rolls back the others.
+    @Override
+    public List<BatchItemResult> createTasks(List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty() || tasks.size() > TaskServiceImpl.MAX_BATCH_SIZE) {
+            return delegate.createTasks(tasks);
+        }
+        int first = nextShard.getAndAdd(tasks.size());
+        List<List<Integer>> positions = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            positions.get(Math.floorMod(first + i, shards)).add(i);
+        }
+
+        List<List<BatchItemResult>> shardResults = gather(shard -> positions.get(shard).isEmpty()
+            ? List.of()
+            : delegate.createTasks(positions.get(shard).stream().map(tasks::get).toList()));
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        for (int shard = 0; shard < shards; shard++) {
+            for (BatchItemResult result : shardResults.get(shard)) {
+                result.setIndex(positions.get(shard).get(result.getIndex()));
+                results[result.getIndex()] = result;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public Task updateTask(Long id, Task updatedTask, Long expectedVersion) {
+        return onShardOf(id, () -> delegate.updateTask(id, updatedTask, expectedVersion));
+    }
+
+    @Override
+    public Task patchTask(Long id, Task changes, Long expectedVersion) {
+        return onShardOf(id, () -> delegate.patchTask(id, changes, expectedVersion));
+    }
+
+    @Override
+    public void deleteTask(Long id, Long expectedVersion) {
+        onShardOf(id, () -> {
+            delegate.deleteTask(id, expectedVersion);
+            return null;
+        });
+    }
+
+    @Override
+    public long bulkUpdateStatus(BulkTaskRequest request) {
+        return bulk(request, delegate::bulkUpdateStatus);
+    }
+
+    @Override
+    public long bulkDelete(BulkTaskRequest request) {
+        return bulk(request, delegate::bulkDelete);
+    }
+
+    // An id list is split so each shard only gets its own ids. Filter-only requests, and invalid
+    // ones (which every shard rejects up front), go to every shard as they are.
+    private long bulk(BulkTaskRequest request, ToLongFunction<BulkTaskRequest> operation) {
+        List<Long> ids = request == null ? null : request.getIds();
+        if (ids == null || ids.isEmpty() || ids.size() > TaskServiceImpl.MAX_BULK_IDS
+                || ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            return gather(shard -> operation.applyAsLong(request)).stream().mapToLong(Long::longValue).sum();
+        }
+        List<List<Long>> idsByShard = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            idsByShard.add(new ArrayList<>());
+        }
+        ids.forEach(id -> idsByShard.get(Shards.of(id, shards)).add(id));
+
+        return gather(shard -> {
+            if (idsByShard.get(shard).isEmpty()) {
+                return 0L;
+            }
+            BulkTaskRequest shardRequest = new BulkTaskRequest();
+            shardRequest.setIds(idsByShard.get(shard));
+            shardRequest.setStatus(request.getStatus());
+            shardRequest.setCreatedBefore(request.getCreatedBefore());
+            shardRequest.setNewStatus(request.getNewStatus());
+            return operation.applyAsLong(shardRequest);
+        }).stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Each shard archives its own tasks, which keep their ids; merged like getTasks, by id alone.
+    @Override
+    public ArchivedTaskPage getArchivedTasks(String after, Integer limit) {
+        List<ArchivedTaskPage> pages = gather(shard -> delegate.getArchivedTasks(after, limit));
+
+        List<ArchivedTask> merged = new ArrayList<>();
+        pages.forEach(page -> merged.addAll(page.getItems()));
+        merged.sort(Comparator.comparing(ArchivedTask::getId));
+        int pageSize = limit == null ? TaskServiceImpl.DEFAULT_PAGE_SIZE : limit;
+        if (merged.size() <= pageSize && pages.stream().allMatch(page -> page.getNextCursor() == null)) {
+            return new ArchivedTaskPage(merged, null);
+        }
+        List<ArchivedTask> page = merged.subList(0, pageSize);
+        return new ArchivedTaskPage(page, new TaskCursor(null, page.get(pageSize - 1).getId()).encode());
+    }
+
+    @Override
+    public ArchivedTask getArchivedTask(Long id) {
+        return onShardOf(id, () -> delegate.getArchivedTask(id));
+    }
+
+    // Ids that are not positive cannot name a shard; TaskServiceImpl rejects them before any query.
+    private <T> T onShardOf(Long id, Supplier<T> action) {
+        int shard = id == null || id <= 0 ? 0 : Shards.of(id, shards);
+        return Shards.on(shard, shards, action);
+    }
+
+    // Runs the call on every shard at once and returns the results in shard order. The first
+    // failure is rethrown as it is; calls still queued are cancelled, running ones are not
+    // interrupted (an interrupt can close an H2 connection mid-statement).
+    private <T> List<T> gather(IntFunction<T> call) {
+        if (shards == 1) {
+            return List.of(Shards.on(0, 1, () -> call.apply(0)));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int index = shard;
+            futures.add(executor.submit(() -> Shards.on(index, shards, () -> call.apply(index))));
+        }
+        List<T> results = new ArrayList<>(shards);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(false));
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shards.", ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
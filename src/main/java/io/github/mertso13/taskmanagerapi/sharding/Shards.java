@@ -0,0 +1,40 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import java.util.function.Supplier;
+
+// Per-thread shard selection, read by ShardRoutingDataSource when a transaction takes its
+// connection and by ShardedSequenceGenerator when it numbers a new task. A task lives on shard
+// id mod count: ids are drawn from that shard's own sequence and encoded as local * count + shard.
+// Without sharding every call runs on shard 0 of 1, which changes nothing.
+public final class Shards {
+
+    public record Shard(int index, int count) {
+    }
+
+    private static final ThreadLocal<Shard> CURRENT = new ThreadLocal<>();
+
+    private Shards() {
+    }
+
+    public static Shard current() {
+        return CURRENT.get();
+    }
+
+    public static int of(long id, int count) {
+        return Math.floorMod(id, count);
+    }
+
+    public static <T> T on(int index, int count, Supplier<T> action) {
+        Shard previous = CURRENT.get();
+        CURRENT.set(new Shard(index, count));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package io.github.mertso13.taskmanagerapi.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import io.github.mertso13.taskmanagerapi.config.TaskSnapshotProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskSnapshotStats;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+
+// Binary dump of the tasks table for fast cold starts. The file is a 16-byte header (magic,
+// format version, task count) followed by one record per task in id order: id, version (-1 for
+// none), status ordinal, createdAt and updatedAt as epoch microseconds, then name and description
+// as length-prefixed UTF-8 (length -1 for a null description). Restore reads the file through
+// memory-mapped windows and inserts with JDBC batches in a single transaction, bypassing JPA.
+@Slf4j
+@Component
+public class TaskSnapshot {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int FORMAT_VERSION = 1;
+    private static final int COUNT_OFFSET = 8;
+    private static final int FIXED_RECORD_BYTES = 8 + 8 + 1 + 8 + 8;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final long MAP_WINDOW_BYTES = 64L << 20;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final String SELECT_TASKS =
+        "select id, version, status, created_at, updated_at, name, description from tasks order by id";
+    private static final String INSERT_TASK =
+        "insert into tasks (id, version, status, created_at, updated_at, name, description) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskSnapshotProperties properties;
+
+    // Its own JdbcTemplate: the shared one waits for Flyway, and restore runs inside the migration step.
+    public TaskSnapshot(DataSource dataSource, TaskSnapshotProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    public synchronized TaskSnapshotStats write() {
+        long started = System.nanoTime();
+        Path target = properties.getPath().toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            long tasks;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                RecordWriter writer = new RecordWriter(channel);
+                jdbcTemplate.query(SELECT_TASKS, writer);
+                writer.flush();
+                tasks = writer.count;
+                // The count is only known at the end; patch it into the header.
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, tasks), COUNT_OFFSET);
+                channel.force(false);
+            }
+            // Readers never see a half-written snapshot.
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new TaskSnapshotStats(target.toString(), tasks, Files.size(target), elapsedMillis(started));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write task snapshot " + target + ".", ex);
+        } catch (UncheckedIOException ex) {
+            throw new UncheckedIOException("Could not write task snapshot " + target + ".", ex.getCause());
+        }
+    }
+
+    public void restoreOnStartup() {
+        if (!properties.isRestoreOnStartup()) {
+            return;
+        }
+        Path path = properties.getPath().toAbsolutePath();
+        if (!Files.isRegularFile(path)) {
+            log.info("No task snapshot at {}, starting with the current database.", path);
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("select count(*) from tasks", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Tasks table already holds {} rows, snapshot {} not restored.", existing, path);
+            return;
+        }
+        TaskSnapshotStats stats = restore(path);
+        log.info("Restored {} tasks ({} bytes) from {} in {} ms.", stats.tasks(), stats.bytes(), stats.path(), stats.millis());
+    }
+
+    TaskSnapshotStats restore(Path path) {
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedReader reader = new MappedReader(channel);
+            if (reader.getInt() != MAGIC) {
+                throw new IllegalStateException(path + " is not a task snapshot.");
+            }
+            int formatVersion = reader.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported task snapshot format " + formatVersion + " in " + path + ".");
+            }
+            long tasks = reader.getLong();
+            Long maxId = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> insertAll(connection, reader, tasks));
+            if (maxId != null) {
+                restartSequenceAfter(maxId);
+            }
+            return new TaskSnapshotStats(path.toString(), tasks, channel.size(), elapsedMillis(started));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read task snapshot " + path + ".", ex);
+        }
+    }
+
+    private static Long insertAll(Connection connection, MappedReader reader, long tasks) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        Long maxId = null;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_TASK)) {
+            for (long i = 0; i < tasks; i++) {
+                long id = reader.getLong();
+                long version = reader.getLong();
+                insert.setLong(1, id);
+                if (version < 0) {
+                    insert.setNull(2, Types.BIGINT);
+                } else {
+                    insert.setLong(2, version);
+                }
+                insert.setString(3, STATUSES[reader.getByte()].name());
+                insert.setObject(4, fromMicros(reader.getLong()));
+                insert.setObject(5, fromMicros(reader.getLong()));
+                insert.setString(6, reader.getString(reader.getInt()));
+                int descriptionLength = reader.getInt();
+                insert.setString(7, descriptionLength < 0 ? null : reader.getString(descriptionLength));
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+                maxId = id;
+            }
+            insert.executeBatch();
+            connection.commit();
+            return maxId;
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Restored ids were not drawn from the sequence; move it past them so new tasks do not collide.
+    private void restartSequenceAfter(long maxId) {
+        Long increment = jdbcTemplate.queryForObject(
+            "select increment from information_schema.sequences where sequence_name = 'TASKS_SEQ'", Long.class);
+        long next = maxId + (increment == null ? 1 : increment);
+        jdbcTemplate.execute("alter sequence tasks_seq restart with " + next);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    private static final class RecordWriter implements RowCallbackHandler {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private long count;
+
+        RecordWriter(FileChannel channel) {
+            this.channel = channel;
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(0);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long version = rs.getLong(2);
+            if (rs.wasNull()) {
+                version = -1;
+            }
+            byte[] name = rs.getString(6).getBytes(StandardCharsets.UTF_8);
+            String description = rs.getString(7);
+
+            ensure(FIXED_RECORD_BYTES);
+            buffer.putLong(rs.getLong(1))
+                .putLong(version)
+                .put((byte) TaskStatus.valueOf(rs.getString(3)).ordinal())
+                .putLong(toMicros(rs.getObject(4, LocalDateTime.class)))
+                .putLong(toMicros(rs.getObject(5, LocalDateTime.class)));
+            putBytes(name);
+            if (description == null) {
+                ensure(Integer.BYTES);
+                buffer.putInt(-1);
+            } else {
+                putBytes(description.getBytes(StandardCharsets.UTF_8));
+            }
+            count++;
+        }
+
+        private void putBytes(byte[] bytes) {
+            ensure(Integer.BYTES);
+            buffer.putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Maps the file in windows of MAP_WINDOW_BYTES, remapping when a value would cross the end of
+    // the current window, so snapshots larger than 2 GB are fine too.
+    private static final class MappedReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0, 0);
+        }
+
+        int getInt() {
+            ensure(Integer.BYTES);
+            return window.getInt();
+        }
+
+        long getLong() {
+            ensure(Long.BYTES);
+            return window.getLong();
+        }
+
+        byte getByte() {
+            ensure(1);
+            return window.get();
+        }
+
+        String getString(int length) {
+            ensure(length);
+            byte[] bytes = new byte[length];
+            window.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void ensure(int bytes) {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            long position = windowStart + window.position();
+            if (position + bytes > size) {
+                throw new UncheckedIOException(new IOException("Task snapshot is truncated at byte " + position + "."));
+            }
+            try {
+                map(position, bytes);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void map(long position, int minimum) throws IOException {
+            long length = Math.min(size - position, Math.max(MAP_WINDOW_BYTES, minimum));
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            windowStart = position;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.mertso13.taskmanagerapi.stats;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskStatusCount;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+import io.github.mertso13.taskmanagerapi.routing.ReadRouting;
+import io.github.mertso13.taskmanagerapi.sharding.Shards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Task count per status, kept in memory so dashboards polling /tasks/stats never hit the database.
+// Seeded from one GROUP BY and moved by TaskChangedEvents after commit, so rolled-back writes
+// never count. reconcile() periodically repairs anything missed (writes outside the service) by
+// moving each counter to the GROUP BY result. A write whose commit is not yet reflected in the
+// counters would be lost or counted twice by that, so a write is tracked as pending from just
+// before its commit until its event is applied, and a reconciliation is only applied when no write
+// was pending or applied while it ran; otherwise it is retried, and under constant writes left to
+// the next interval. Events published outside a transaction are applied at once and not tracked.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskStatusCounters implements SmartInitializingSingleton, MeterBinder {
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TaskRepository taskRepository;
+    private final TaskShardingProperties shardingProperties;
+
+    private final Map<TaskStatus, LongAdder> counters = newCounters();
+    // Writes between their before-commit and the application of their event.
+    private final AtomicInteger pending = new AtomicInteger();
+    // Events applied so far; events take the read lock, reconcile() the write lock to adjust.
+    private final AtomicLong applied = new AtomicLong();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    // Runs before the commit, so the write is pending before a GROUP BY can see it.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(TaskChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (event.getPreviousStatus() != null) {
+                counters.get(event.getPreviousStatus()).decrement();
+            }
+            if (event.getStatus() != null) {
+                counters.get(event.getStatus()).increment();
+            }
+            applied.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:5m}",
+        initialDelayString = "${task.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                return;
+            }
+        }
+        log.debug("Task counters not reconciled: writes kept committing during {} attempts", RECONCILE_ATTEMPTS);
+    }
+
+    // The GROUP BY and the counters agree on which writes they include only if no write was pending
+    // at the start and none was applied or still pending at the end.
+    private boolean tryReconcile() {
+        long seen = applied.get();
+        if (pending.get() > 0) {
+            return false;
+        }
+        Map<TaskStatus, Long> actual = new EnumMap<>(TaskStatus.class);
+        // The counters follow committed events, so compare them with the primary, not a lagging replica.
+        int shards = shardingProperties.shardCount();
+        for (int shard = 0; shard < shards; shard++) {
+            for (TaskStatusCount row : Shards.on(shard, shards, () -> ReadRouting.onPrimary(taskRepository::countByStatus))) {
+                actual.merge(row.status(), row.count(), Long::sum);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending.get() > 0 || applied.get() != seen) {
+                return false;
+            }
+            for (TaskStatus status : TaskStatus.values()) {
+                LongAdder counter = counters.get(status);
+                counter.add(actual.getOrDefault(status, 0L) - counter.sum());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<TaskStatus, Long> counts() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        counters.forEach((status, counter) -> counts.put(status, counter.sum()));
+        return counts;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counters.forEach((status, counter) -> Gauge.builder("tasks.count", counter, LongAdder::sum)
+            .description("Tasks per status")
+            .tag("status", status.name())
+            .register(registry));
+    }
+
+    private static Map<TaskStatus, LongAdder> newCounters() {
+        Map<TaskStatus, LongAdder> counters = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.mertso13.taskmanagerapi.training;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.github.mertso13.taskmanagerapi.config.TaskTrainingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Training workload for the class cache built by the fast-startup image (see Dockerfile). With
+// task.training.enabled=true the application calls its own endpoints over HTTP, happy and error
+// paths alike, so the classes (and on JDK 25 the method profiles) a real request needs are loaded
+// before the JVM writes the cache on exit. It is a plain component that checks the property at
+// runtime because Spring AOT fixes profile and property conditions at build time.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final TaskTrainingProperties properties;
+    private final Environment environment;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int exitCode = 0;
+        try {
+            String base = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            for (int i = 0; i < properties.getIterations(); i++) {
+                exercise(client, base, i);
+            }
+            log.info("Training run finished after {} iterations.", properties.getIterations());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Training run failed.", ex);
+            exitCode = 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> code));
+    }
+
+    private static void exercise(HttpClient client, String base, int i) throws IOException, InterruptedException {
+        String tasks = base + "/api/v1/tasks";
+        String created = send(client, "POST", tasks, "{\"name\":\"training " + i + "\",\"description\":\"warm up run\"}", null);
+        String id = created.replaceAll("(?s).*\"id\":(\\d+).*", "$1");
+        String task = tasks + "/" + id;
+
+        send(client, "GET", task, null, null);
+        send(client, "GET", task, null, "\"0\"");
+        send(client, "PUT", task, "{\"status\":\"IN_PROGRESS\"}", null);
+        send(client, "PATCH", task, "{\"description\":\"patched\"}", "\"1\"");
+        send(client, "PATCH", task, "{\"name\":\"stale\"}", "\"0\"");
+        send(client, "GET", tasks + "?limit=20", null, null);
+        send(client, "GET", tasks + "?status=IN_PROGRESS&sort=-createdAt&limit=20", null, null);
+        send(client, "GET", tasks + "/search?q=training&limit=10", null, null);
+        send(client, "GET", tasks + "/stats", null, null);
+        send(client, "POST", tasks + "/batch", "[{\"name\":\"batch " + i + "\"},{\"name\":\"\"}]", null);
+        send(client, "POST", tasks + "?async=true", "{\"name\":\"async " + i + "\"}", null);
+        send(client, "POST", tasks + "/bulk/status", "{\"ids\":[" + id + "],\"newStatus\":\"DONE\"}", null);
+        send(client, "GET", tasks + "/0", null, null);
+        send(client, "GET", tasks + "/abc", null, null);
+        send(client, "POST", tasks, "{}", null);
+        send(client, "DELETE", task, null, null);
+        send(client, "GET", task, null, null);
+        if (i % 50 == 0) {
+            send(client, "GET", tasks + "/export", null, null);
+            send(client, "GET", base + "/actuator/health", null, null);
+        }
+    }
+
+    private static String send(HttpClient client, String method, String uri, String body, String ifMatch)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+            .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (ifMatch != null) {
+            request.header("GET".equals(method) ? "If-None-Match" : "If-Match", ifMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.mertso13.taskmanagerapi.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.mertso13.taskmanagerapi.config.TaskWriteBehindProperties;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.exception.TooManyRequestsException;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+// Write-behind queue for POST /tasks?async=true. Requests are validated up front and queued;
+// one writer thread commits whatever has accumulated as a single createTasks() transaction
+// every batchSize tasks or maxDelay, whichever comes first. A full queue rejects with 429
+// instead of blocking the request thread. On shutdown the queue is drained before the
+// DataSource goes away.
+@Slf4j
+@Component
+public class TaskWriteBehind implements SmartLifecycle, MeterBinder {
+
+    // Stop after the web server has stopped taking requests (it stops in an earlier phase).
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final String FAILURE = "Something went wrong.";
+
+    private final TaskWriteBehindProperties properties;
+    private final ObjectProvider<TaskService> taskService;
+    private final BlockingQueue<Pending> queue;
+    private final Cache<String, TaskSubmission> submissions;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+    private DistributionSummary batchSizes;
+    private Counter rejected;
+
+    // TaskService is looked up lazily: it depends on this component to enqueue.
+    public TaskWriteBehind(TaskWriteBehindProperties properties, ObjectProvider<TaskService> taskService) {
+        this.properties = properties;
+        this.taskService = taskService;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.submissions = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTicketTtl())
+            .build();
+    }
+
+    public TaskSubmission enqueue(Task task) {
+        String ticket = UUID.randomUUID().toString();
+        TaskSubmission submission = TaskSubmission.pending(ticket);
+        // Recorded before queueing so the writer's result cannot be overwritten by PENDING.
+        submissions.put(ticket, submission);
+        if (!running || !queue.offer(new Pending(ticket, task))) {
+            submissions.invalidate(ticket);
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new TooManyRequestsException("Write-behind queue is full, please retry later.", properties.getMaxDelay());
+        }
+        return submission;
+    }
+
+    public TaskSubmission getSubmission(String ticket) {
+        return submissions.getIfPresent(ticket);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("task-write-behind").daemon(true).start(this::writeLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            try {
+                current.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.writebehind.queue.depth", this, TaskWriteBehind::queueDepth)
+            .description("Tasks accepted but not yet committed")
+            .register(registry);
+        batchSizes = DistributionSummary.builder("tasks.writebehind.batch.size")
+            .description("Tasks per group commit")
+            .register(registry);
+        rejected = Counter.builder("tasks.writebehind.rejected")
+            .description("Async creates rejected because the queue was full")
+            .register(registry);
+    }
+
+    // Keeps going after stop() until the queue is empty, so nothing accepted is lost.
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+                while (batch.size() < properties.getBatchSize()) {
+                    if (queue.drainTo(batch, properties.getBatchSize() - batch.size()) > 0) {
+                        continue;
+                    }
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 && running ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+        try {
+            List<BatchItemResult> results = taskService.getObject().createTasks(batch.stream().map(Pending::task).toList());
+            for (BatchItemResult result : results) {
+                String ticket = batch.get(result.getIndex()).ticket();
+                submissions.put(ticket, result.getTask() != null
+                    ? TaskSubmission.created(ticket, result.getTask().getId())
+                    : TaskSubmission.failed(ticket, result.getError()));
+            }
+        } catch (RuntimeException ex) {
+            // The whole group commit rolled back; every ticket in it reports the failure. Like a 500,
+            // the ticket only says that something went wrong; the details stay in the log.
+            log.error("Group commit of {} queued tasks failed", batch.size(), ex);
+            batch.forEach(pending -> submissions.put(pending.ticket(), TaskSubmission.failed(pending.ticket(), FAILURE)));
+        }
+    }
+
+    private record Pending(String ticket, Task task) {
+    }
+}
@@ -0,0 +1,15 @@
+create sequence tasks_seq start with 1 increment by 50;
+
+create table tasks (
+    id bigint not null,
+    created_at timestamp(6) not null,
+    description text,
+    name varchar(255) not null,
+    status enum ('DONE', 'IN_PROGRESS', 'TODO') not null,
+    updated_at timestamp(6) not null,
+    version bigint,
+    primary key (id)
+);
+
+create index idx_tasks_created_at_id on tasks (created_at, id);
+create index idx_tasks_status_created_at_id on tasks (status, created_at, id);
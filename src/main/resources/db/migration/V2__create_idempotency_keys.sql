@@ -0,0 +1,12 @@
+create table idempotency_keys (
+    idempotency_key varchar(255) not null,
+    fingerprint varchar(64) not null,
+    status int not null,
+    content_type varchar(255),
+    location varchar(2048),
+    body blob not null,
+    created_at timestamp(6) not null,
+    primary key (idempotency_key)
+);
+
+create index idx_idempotency_keys_created_at on idempotency_keys (created_at);
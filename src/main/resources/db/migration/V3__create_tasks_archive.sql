@@ -0,0 +1,14 @@
+-- Serves the retention job's scan for DONE tasks last updated before the cutoff, in keyset order.
+create index idx_tasks_status_updated_at_id on tasks (status, updated_at, id);
+
+create table tasks_archive (
+    id bigint not null,
+    created_at timestamp(6) not null,
+    description text,
+    name varchar(255) not null,
+    status enum ('DONE', 'IN_PROGRESS', 'TODO') not null,
+    updated_at timestamp(6) not null,
+    version bigint,
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
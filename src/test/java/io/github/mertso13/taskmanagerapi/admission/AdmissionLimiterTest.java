@@ -0,0 +1,104 @@
+package io.github.mertso13.taskmanagerapi.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mertso13.taskmanagerapi.config.TaskAdmissionProperties;
+import io.github.mertso13.taskmanagerapi.dto.AdmissionStats;
+import io.github.mertso13.taskmanagerapi.exception.ServiceUnavailableException;
+import io.github.mertso13.taskmanagerapi.exception.TooManyRequestsException;
+
+public class AdmissionLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void acquire_ShouldShedOverLimitWithoutTouchingOtherBudget() {
+        TaskAdmissionProperties properties = new TaskAdmissionProperties();
+        properties.setRead(new TaskAdmissionProperties.Budget(2, 1, 10));
+        properties.setWrite(new TaskAdmissionProperties.Budget(1, 1, 10));
+        AdmissionLimiter limiter = new AdmissionLimiter(properties);
+
+        AdmissionLimiter.Permit first = limiter.acquire(AdmissionLimiter.Kind.READ, "a");
+        limiter.acquire(AdmissionLimiter.Kind.READ, "a");
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+            () -> limiter.acquire(AdmissionLimiter.Kind.READ, "a"));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+        limiter.acquire(AdmissionLimiter.Kind.WRITE, "a");
+
+        first.release(false);
+        limiter.acquire(AdmissionLimiter.Kind.READ, "a");
+
+        AdmissionStats stats = limiter.stats();
+        assertEquals(2, stats.read().inFlight());
+        assertEquals(3, stats.read().accepted());
+        assertEquals(1, stats.read().rejected());
+        assertEquals(1, stats.write().inFlight());
+        assertEquals(0, stats.write().rejected());
+    }
+
+    @Test
+    void acquire_ShouldRejectClientOverItsRateWith429() {
+        TaskAdmissionProperties properties = new TaskAdmissionProperties();
+        properties.getClient().setEnabled(true);
+        properties.getClient().setRequestsPerSecond(1);
+        properties.getClient().setBurst(2);
+        AdmissionLimiter limiter = new AdmissionLimiter(properties);
+
+        limiter.acquire(AdmissionLimiter.Kind.READ, "a").release(false);
+        limiter.acquire(AdmissionLimiter.Kind.READ, "a").release(false);
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+            () -> limiter.acquire(AdmissionLimiter.Kind.READ, "a"));
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        limiter.acquire(AdmissionLimiter.Kind.READ, "b").release(false);
+
+        assertEquals(1, limiter.stats().clientRejections());
+        assertEquals(0, limiter.stats().read().rejected());
+    }
+
+    @Test
+    void tokenBucket_ShouldRefillAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 0);
+
+        assertEquals(0, bucket.tryTake(10, 1, 0));
+        assertEquals(100 * MILLI, bucket.tryTake(10, 1, 0));
+        assertEquals(50 * MILLI, bucket.tryTake(10, 1, 50 * MILLI));
+        assertEquals(0, bucket.tryTake(10, 1, 100 * MILLI));
+    }
+
+    @Test
+    void gradientLimit_ShouldGrowWhileLatencyIsFlatAndShrinkWhenItRises() {
+        GradientLimit limit = new GradientLimit(20, 5, 100, 1.5, 0.2);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit should probe upwards, was " + grown);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(100 * MILLI, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < grown / 2, "limit should back off, was " + limit.getLimit());
+    }
+
+    @Test
+    void gradientLimit_ShouldIgnoreLatencyWhenFarBelowTheLimitAndBackOffOnFailure() {
+        GradientLimit limit = new GradientLimit(20, 5, 100, 1.5, 0.2);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(500 * MILLI, 1, false);
+        }
+        assertEquals(20, limit.getLimit());
+
+        limit.onSample(10 * MILLI, 1, true);
+        assertEquals(18, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLI, 1, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+}
@@ -0,0 +1,344 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.mertso13.taskmanagerapi.TaskmanagerapiApplication;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Open-loop load generator for the task API: starts the application on a random port with a fresh
+ * in-memory H2 database, seeds it, then sends a weighted mix of GET-by-id, list, create, update and
+ * delete requests at a fixed arrival rate.
+ *
+ * <p>Requests are scheduled on a fixed timeline and each latency is measured from its scheduled
+ * start, not from when it was actually sent. A slow response therefore cannot hold back the requests
+ * behind it and hide its cost (coordinated omission); if the server or the in-flight limit cannot
+ * keep up, the queueing shows up as latency.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.mertso13.taskmanagerapi.benchmark.LoadGenerator -Dexec.args="rate=500 duration=30"}.
+ * Arguments are {@code key=value}: {@code rate} (requests per second, default 500), {@code duration} and
+ * {@code warmup} (seconds, 30 and 10), {@code concurrency} (maximum requests in flight, 256),
+ * {@code tasks} (seeded tasks, 10000), {@code mix} (weights, default
+ * {@code get=60,list=10,create=10,update=15,delete=5}), {@code label} (written into the report) and
+ * {@code out} (report file, default {@code target/load-report.txt}). Arguments starting with
+ * {@code --} are passed to the application, e.g. {@code --spring.threads.virtual.enabled=true}.
+ * The report holds a per-endpoint summary followed by the full HdrHistogram percentile distributions.
+ */
+public class LoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final String DEFAULT_MIX = "get=60,list=10,create=10,update=15,delete=5";
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    enum Endpoint { GET, LIST, CREATE, UPDATE, DELETE }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+            "--logging.level.root=WARN"));
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+            } else {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Expected key=value, got '" + arg + "'.");
+                }
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "500"));
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "256"));
+        int seedTasks = Integer.parseInt(options.getOrDefault("tasks", "10000"));
+        String mixSpec = options.getOrDefault("mix", DEFAULT_MIX);
+        Mix mix = Mix.parse(mixSpec);
+        Path out = Path.of(options.getOrDefault("out", "target/load-report.txt"));
+
+        // Command-line arguments, so they win over application.properties.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerapiApplication.class)
+            .run(appArgs.toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/v1/tasks";
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            IdPool ids = new IdPool();
+            seed(client, base, seedTasks, ids);
+
+            if (warmup > 0) {
+                drive(client, base, ids, mix, rate, concurrency, Duration.ofSeconds(warmup));
+            }
+            Run run = drive(client, base, ids, mix, rate, concurrency, Duration.ofSeconds(seconds));
+
+            List<String> header = List.of(
+                String.format(Locale.ROOT, "label=%s started=%s java=%s", options.getOrDefault("label", "-"),
+                    Instant.now(), Runtime.version()),
+                String.format(Locale.ROOT, "rate=%.0f/s duration=%ds warmup=%ds concurrency=%d tasks=%d mix=%s",
+                    rate, seconds, warmup, concurrency, seedTasks, mixSpec),
+                "app=" + String.join(" ", appArgs.subList(3, appArgs.size())));
+            String report = run.report(header);
+            System.out.println(report);
+            if (out.getParent() != null) {
+                Files.createDirectories(out.getParent());
+            }
+            Files.writeString(out, report + System.lineSeparator() + run.distributions());
+            System.out.println("Report written to " + out.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(HttpClient client, String base, int tasks, IdPool ids) throws IOException, InterruptedException {
+        for (int offset = 0; offset < tasks; offset += 5_000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = offset; i < Math.min(tasks, offset + 5_000); i++) {
+                body.append(i == offset ? "" : ",").append("{\"name\":\"task ").append(i)
+                    .append("\",\"description\":\"seeded for the load generator\"}");
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString())).build(),
+                HttpResponse.BodyHandlers.ofString());
+            for (JsonNode item : JSON.readTree(response.body())) {
+                ids.add(item.path("task").path("id").asLong());
+            }
+        }
+    }
+
+    // Open loop: request i is due at start + i / rate whatever happened to the requests before it.
+    private static Run drive(HttpClient client, String base, IdPool ids, Mix mix, double rate, int concurrency,
+            Duration duration) throws InterruptedException {
+        Run run = new Run();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * 1_000_000_000d / rate);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                // Every slot is busy: this request waits, and the wait counts towards its latency.
+                run.stalls++;
+                inFlight.acquire();
+            }
+            Endpoint endpoint = mix.next();
+            long id = switch (endpoint) {
+                case GET, UPDATE -> ids.pick();
+                case DELETE -> ids.take();
+                default -> 0;
+            };
+            if (id < 0) {
+                endpoint = Endpoint.CREATE;
+            }
+            Endpoint sent = endpoint;
+            client.sendAsync(request(sent, base, id), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                    inFlight.release();
+                    run.record(sent, micros, failure == null ? response.statusCode() : -1);
+                    if (failure == null && sent == Endpoint.CREATE && response.statusCode() < 300) {
+                        ids.add(JSON.readTree(response.body()).path("id").asLong());
+                    }
+                });
+            run.sent++;
+        }
+        // Wait for the stragglers so they are part of the numbers.
+        if (inFlight.tryAcquire(concurrency, 1, TimeUnit.MINUTES)) {
+            inFlight.release(concurrency);
+        }
+        run.elapsedNanos = System.nanoTime() - start;
+        return run;
+    }
+
+    private static HttpRequest request(Endpoint endpoint, String base, long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case GET -> HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+            case LIST -> HttpRequest.newBuilder(URI.create(base + "?limit=50")).GET().build();
+            case CREATE -> HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"name\":\"load " + random.nextInt() + "\",\"description\":\"created by the load generator\"}"))
+                .build();
+            case UPDATE -> HttpRequest.newBuilder(URI.create(base + "/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                    "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                .build();
+            case DELETE -> HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE().build();
+        };
+    }
+
+    private record Mix(Endpoint[] endpoints, int[] cumulative) {
+
+        static Mix parse(String spec) {
+            List<Endpoint> endpoints = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                int weight = Integer.parseInt(kv[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    endpoints.add(Endpoint.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)));
+                    cumulative.add(total);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("The mix needs at least one positive weight: " + spec);
+            }
+            return new Mix(endpoints.toArray(Endpoint[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Endpoint next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (roll < cumulative[i]) {
+                    return endpoints[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    // Ids known to exist. Deletes take their id out before sending, so no two deletes race for one task.
+    private static final class IdPool {
+
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long pick() {
+            return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        synchronized long take() {
+            if (size == 0) {
+                return -1;
+            }
+            int index = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+    }
+
+    private static final class Run {
+
+        private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+        private long sent;
+        private long stalls;
+        private long elapsedNanos;
+
+        Run() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+                errors.put(endpoint, new LongAdder());
+            }
+        }
+
+        void record(Endpoint endpoint, long micros, int status) {
+            latencies.get(endpoint).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (status < 200 || status >= 400) {
+                errors.get(endpoint).increment();
+            }
+        }
+
+        String report(List<String> header) {
+            double seconds = elapsedNanos / 1e9;
+            List<String> lines = new ArrayList<>(header);
+            lines.add(String.format(Locale.ROOT, "sent=%d achieved=%.1f/s stalls=%d (all slots busy when due)",
+                sent, sent / seconds, stalls));
+            lines.add(String.format(Locale.ROOT, "%-8s %9s %9s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+            Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+            long allErrors = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                Histogram histogram = latencies.get(endpoint);
+                all.add(histogram);
+                allErrors += errors.get(endpoint).sum();
+                lines.add(row(endpoint.name(), histogram, errors.get(endpoint).sum(), seconds));
+            }
+            lines.add(row("ALL", all, allErrors, seconds));
+            return String.join(System.lineSeparator(), lines);
+        }
+
+        String distributions() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (PrintStream stream = new PrintStream(bytes, true, StandardCharsets.UTF_8)) {
+                for (Endpoint endpoint : Endpoint.values()) {
+                    Histogram histogram = latencies.get(endpoint);
+                    if (histogram.getTotalCount() > 0) {
+                        stream.println();
+                        stream.println("# " + endpoint + " latency distribution (ms)");
+                        histogram.outputPercentileDistribution(stream, 1000.0);
+                    }
+                }
+            }
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+
+        private static String row(String name, Histogram histogram, long errors, double seconds) {
+            return String.format(Locale.ROOT, "%-8s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
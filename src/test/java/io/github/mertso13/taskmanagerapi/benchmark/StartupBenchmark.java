@@ -0,0 +1,114 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time from process launch to the first successful {@code GET /api/v1/tasks}, which is what a
+ * load balancer waits for when a new pod comes up.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.mertso13.taskmanagerapi.benchmark.StartupBenchmark
+ * -Dexec.args="runs=5 label=plain -- java -jar target/taskmanagerapi-0.0.1-SNAPSHOT.jar"}.
+ * Everything after {@code --} is the command to start; {@code --server.port} is appended to it.
+ * Each run appends a line to {@code target/startup-benchmark.txt} ({@code out=} to change it), so
+ * several variants can be collected into one table.
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Usage: [runs=N] [label=name] [out=file] -- <command to start the app>");
+        }
+        int runs = 5;
+        String label = "-";
+        Path out = Path.of("target", "startup-benchmark.txt");
+        for (String option : Arrays.copyOfRange(args, 0, separator)) {
+            String value = option.substring(option.indexOf('=') + 1);
+            if (option.startsWith("runs=")) {
+                runs = Integer.parseInt(value);
+            } else if (option.startsWith("label=")) {
+                label = value;
+            } else if (option.startsWith("out=")) {
+                out = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option '" + option + "'.");
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstRequest(client, command);
+            System.out.printf("run %d: %d ms%n", run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+        String line = String.format(Locale.ROOT, "%-24s runs=%d min=%d median=%d max=%d ms  java=%s  %s", label, runs,
+            millis[0], millis[runs / 2], millis[runs - 1], Runtime.version(), String.join(" ", command));
+        System.out.println(line);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, line + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long timeToFirstRequest(HttpClient client, List<String> command) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks?limit=1"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " before serving a request.");
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // Keep polling until the port is open.
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("No successful request within " + TIMEOUT + ".");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
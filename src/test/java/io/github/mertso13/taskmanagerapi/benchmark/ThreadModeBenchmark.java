@@ -0,0 +1,160 @@
+package io.github.mertso13.taskmanagerapi.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.mertso13.taskmanagerapi.TaskmanagerapiApplication;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under the same closed-loop load.
+ *
+ * <p>Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.mertso13.taskmanagerapi.benchmark.ThreadModeBenchmark}.
+ * Optional arguments: client concurrency, seconds per mode, seeded tasks (defaults 1000, 20, 10000).
+ * Results are printed and written to {@code target/thread-mode-benchmark.txt}.
+ */
+public class ThreadModeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int seedTasks = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("concurrency=%d duration=%ds tasks=%d java=%s",
+            concurrency, seconds, seedTasks, Runtime.version()));
+        report.add(String.format("%-8s %12s %10s %10s %10s %8s", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        for (boolean virtual : new boolean[] { false, true }) {
+            report.add(run(virtual, concurrency, seconds, seedTasks));
+        }
+
+        report.forEach(System.out::println);
+        Path out = Path.of("target", "thread-mode-benchmark.txt");
+        Files.createDirectories(out.getParent());
+        Files.write(out, report);
+    }
+
+    private static String run(boolean virtual, int concurrency, int seconds, int seedTasks) throws Exception {
+        // Command-line arguments, so they win over application.properties.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerapiApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + (virtual ? "virtual" : "platform"),
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=200",
+                "--spring.jpa.show-sql=false",
+                "--task.cache.enabled=false",
+                "--logging.level.root=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/v1/tasks";
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            seed(client, base, seedTasks);
+
+            // Warm up the JIT, then measure.
+            drive(client, base, seedTasks, concurrency, Math.max(2, seconds / 4));
+            Result result = drive(client, base, seedTasks, concurrency, seconds);
+            return String.format("%-8s %12.0f %10.2f %10.2f %10.2f %8d", virtual ? "virtual" : "platform",
+                result.requests() / (double) seconds, result.percentile(50), result.percentile(99),
+                result.percentile(100), result.errors);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(HttpClient client, String base, int tasks) throws IOException, InterruptedException {
+        for (int offset = 0; offset < tasks; offset += 5_000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = offset; i < Math.min(tasks, offset + 5_000); i++) {
+                body.append(i == offset ? "" : ",").append("{\"name\":\"task ").append(i)
+                    .append("\",\"description\":\"seeded for the thread mode benchmark\"}");
+            }
+            client.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString())).build(),
+                HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes.
+    private static Result drive(HttpClient client, String base, int tasks, int concurrency, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[concurrency][];
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int slot = c;
+                clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(base, tasks);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException ex) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[slot] = Arrays.copyOf(samples, count);
+                });
+            }
+        }
+        return new Result(Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray(), errors.get());
+    }
+
+    // 80% reads by id, 10% list pages, 10% updates.
+    private static HttpRequest nextRequest(String base, int tasks) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextInt(tasks);
+        int roll = random.nextInt(10);
+        if (roll < 8) {
+            return HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+        }
+        if (roll == 8) {
+            return HttpRequest.newBuilder(URI.create(base + "?limit=50")).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/" + id))
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"IN_PROGRESS\"}")).build();
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+}
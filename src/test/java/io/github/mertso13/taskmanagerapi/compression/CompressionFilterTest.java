@@ -0,0 +1,203 @@
+package io.github.mertso13.taskmanagerapi.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import io.github.mertso13.taskmanagerapi.config.TaskCompressionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+public class CompressionFilterTest {
+
+    private static final byte[] LARGE = "{\"name\":\"task\"},".repeat(500).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SMALL = "{\"name\":\"task\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static FilterChain respond(String contentType, byte[] body) {
+        return (request, response) -> {
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setContentType(contentType);
+            http.setHeader(HttpHeaders.ETAG, "\"abc\"");
+            http.setContentLength(body.length);
+            http.getOutputStream().write(body);
+        };
+    }
+
+    private static MockHttpServletResponse run(TaskCompressionProperties properties, String acceptEncoding,
+            FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new CompressionFilter(properties).doFilter(request, response, chain);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void largeJsonResponse_ShouldBeGzipped() throws Exception {
+        MockHttpServletResponse response = run(new TaskCompressionProperties(), "gzip, deflate, br",
+            respond("application/json", LARGE));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"abc-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertFalse(response.containsHeader(HttpHeaders.CONTENT_LENGTH));
+        assertTrue(response.getContentAsByteArray().length < LARGE.length / 10);
+        assertArrayEquals(LARGE, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void smallResponse_ShouldStayUncompressedWithItsLength() throws Exception {
+        MockHttpServletResponse response = run(new TaskCompressionProperties(), "gzip",
+            respond("application/json", SMALL));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(SMALL.length, response.getContentLength());
+        assertArrayEquals(SMALL, response.getContentAsByteArray());
+    }
+
+    @Test
+    void clientWithoutGzip_ShouldGetIdentityBody() throws Exception {
+        for (String acceptEncoding : new String[] { null, "identity", "gzip;q=0, br" }) {
+            MockHttpServletResponse response = run(new TaskCompressionProperties(), acceptEncoding,
+                respond("application/json", LARGE));
+
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertArrayEquals(LARGE, response.getContentAsByteArray());
+        }
+    }
+
+    @Test
+    void binaryFormats_ShouldBeGzipped_ButOtherTypesNot() throws Exception {
+        MockHttpServletResponse cbor = run(new TaskCompressionProperties(), "gzip", respond("application/cbor", LARGE));
+        MockHttpServletResponse png = run(new TaskCompressionProperties(), "gzip", respond("image/png", LARGE));
+
+        assertEquals("gzip", cbor.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(png.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE.length, png.getContentLength());
+        assertArrayEquals(LARGE, png.getContentAsByteArray());
+    }
+
+    @Test
+    void writer_ShouldBeCompressedToo() throws Exception {
+        String body = new String(LARGE, StandardCharsets.UTF_8);
+        MockHttpServletResponse response = run(new TaskCompressionProperties(), "gzip", (request, res) -> {
+            res.setContentType("application/json;charset=UTF-8");
+            res.getWriter().write(body);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body, new String(gunzip(response.getContentAsByteArray()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void smallFlushedBody_ShouldStillGetContentLength() throws Exception {
+        MockHttpServletResponse response = run(new TaskCompressionProperties(), "gzip", (request, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write(SMALL);
+            res.getOutputStream().flush();
+        });
+
+        assertEquals(SMALL.length, response.getContentLength());
+        assertArrayEquals(SMALL, response.getContentAsByteArray());
+    }
+
+    @Test
+    void higherLevel_ShouldProduceSmallerBody() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("{\"id\":").append(i * 7919 % 10007).append(",\"status\":\"PENDING\"},");
+        }
+        byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+        TaskCompressionProperties fastest = new TaskCompressionProperties();
+        TaskCompressionProperties smallest = new TaskCompressionProperties();
+        smallest.setLevel(9);
+
+        int fast = run(fastest, "gzip", respond("application/json", body)).getContentAsByteArray().length;
+        int small = run(smallest, "gzip", respond("application/json", body)).getContentAsByteArray().length;
+
+        assertTrue(small < fast, small + " should be smaller than " + fast);
+    }
+
+    @Test
+    void threshold_ShouldBeConfigurable() throws Exception {
+        TaskCompressionProperties properties = new TaskCompressionProperties();
+        properties.setMinResponseSize(DataSize.ofBytes(8));
+
+        MockHttpServletResponse response = run(properties, "gzip", respond("application/json", SMALL));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(SMALL, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void writeListener_ShouldGoToContainerStream_AndPassThroughUncompressed() throws Exception {
+        MockHttpServletResponse mock = new MockHttpServletResponse();
+        WriteListener[] registered = new WriteListener[1];
+        ServletOutputStream container = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                mock.getOutputStream().write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                registered[0] = listener;
+            }
+        };
+        GzipResponseWrapper wrapper = new GzipResponseWrapper(new HttpServletResponseWrapper(mock) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return container;
+            }
+        }, 1024, 1, type -> true);
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        wrapper.setContentType("application/json");
+        wrapper.getOutputStream().write(SMALL);
+        wrapper.getOutputStream().setWriteListener(listener);
+        wrapper.getOutputStream().write(LARGE);
+
+        assertEquals(listener, registered[0]);
+        assertFalse(wrapper.getOutputStream().isReady());
+        assertNull(mock.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(SMALL.length + LARGE.length, mock.getContentAsByteArray().length);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.mertso13.taskmanagerapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+public class BinaryFormatsTest {
+
+    private static Task task() {
+        Task task = new Task();
+        task.setId(7L);
+        task.setName("Write report");
+        task.setDescription("Quarterly numbers");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_000_000));
+        task.setUpdatedAt(task.getCreatedAt());
+        task.setVersion(2L);
+        return task;
+    }
+
+    @Test
+    void smileAndCbor_ShouldRoundTripTasks() {
+        Task task = task();
+        for (ObjectMapper mapper : List.of(BinaryFormats.smileMapper(), BinaryFormats.cborMapper())) {
+            List<Task> read = mapper.readValue(mapper.writeValueAsBytes(List.of(task)), new TypeReference<List<Task>>() {
+            });
+
+            assertEquals(1, read.size());
+            assertEquals(task.getName(), read.get(0).getName());
+            assertEquals(task.getStatus(), read.get(0).getStatus());
+            assertEquals(task.getCreatedAt(), read.get(0).getCreatedAt());
+        }
+    }
+
+    @Test
+    void compactValues_ShouldBeEpochMillisAndOrdinals() {
+        ObjectMapper mapper = BinaryFormats.cborMapper();
+        Map<?, ?> fields = mapper.readValue(mapper.writeValueAsBytes(task()), Map.class);
+
+        assertEquals(1740821415123L, ((Number) fields.get("createdAt")).longValue());
+        assertEquals(TaskStatus.IN_PROGRESS.ordinal(), ((Number) fields.get("status")).intValue());
+    }
+
+    @Test
+    void binaryBodies_ShouldBeSmallerThanJson() {
+        List<Task> tasks = List.of(task(), task(), task());
+        int json = JsonMapper.builder().build().writeValueAsBytes(tasks).length;
+
+        assertTrue(BinaryFormats.smileMapper().writeValueAsBytes(tasks).length < json);
+        assertTrue(BinaryFormats.cborMapper().writeValueAsBytes(tasks).length < json);
+    }
+}
@@ -1,23 +1,49 @@
 package io.github.mertso13.taskmanagerapi.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.exception.PreconditionFailedException;
 import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
 import io.github.mertso13.taskmanagerapi.service.impl.TaskServiceImpl;
+import tools.jackson.databind.json.JsonMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskControllerTest {
@@ -29,29 +55,122 @@ public class TaskControllerTest {
     private TaskController taskController;
 
     @Test
-    void getAllTasks_ShouldReturnAllTasks_WhenTasksExist() {
+    void getAllTasks_ShouldReturnPage_WhenTasksExist() {
         Task task1 = new Task();
         task1.setName("Random name 1");
         Task task2 = new Task();
         task2.setName("Random name 2");
-        List<Task> mocTasks = List.of(task1, task2);
+        TaskPage mocPage = new TaskPage(List.of(task1, task2), "cursor");
+
+        when(taskService.getTasks(new TaskFilter(), null, null)).thenReturn(mocPage);
+
+        TaskPage result = taskController.getAllTasks(null, null, null, null, null, null, null).getBody();
+        assertEquals(2, result.getItems().size());
+        assertEquals("Random name 1", result.getItems().get(0).getName());
+        assertEquals("Random name 2", result.getItems().get(1).getName());
+        assertEquals("cursor", result.getNextCursor());
+        verify(taskService, times(1)).getTasks(new TaskFilter(), null, null);
+    }
+
+    @Test
+    void getTaskViews_ShouldParseFieldsAndTagPage() {
+        TaskViewPage page = new TaskViewPage(List.of(new TaskView(1L, "a", null, null, null, null, 2L)), null);
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.VERSION);
+        when(taskService.getTaskViews(new TaskFilter(), null, null, fields)).thenReturn(page);
+
+        var response = taskController.getTaskViews("name", null, null, null, null, null, null, null);
+
+        assertEquals(page, response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+        assertThrows(IllegalArgumentException.class,
+            () -> taskController.getTaskViews("name,secret", null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void getTaskView_ShouldReturnNotModified_WithoutLoadingFields() {
+        when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(3L, LocalDateTime.of(2025, 1, 1, 12, 0)));
+
+        var response = taskController.getTaskView(1L, "name,description", "\"3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(taskService, never()).getTaskView(any(), any());
+    }
+
+    @Test
+    void getAllTasks_ShouldBuildFilter_WhenQueryParametersProvided() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 12, 0);
+        TaskFilter filter = new TaskFilter(TaskStatus.TODO, from, null, TaskSort.CREATED_AT_DESC);
+        when(taskService.getTasks(filter, null, 5)).thenReturn(new TaskPage(List.of(), null));
+
+        taskController.getAllTasks(TaskStatus.TODO, from, null, "-createdAt", null, 5, null);
+
+        verify(taskService, times(1)).getTasks(filter, null, 5);
+    }
+
+    @Test
+    void getAllTasks_ShouldThrowException_WhenSortIsUnknown() {
+        assertThrows(IllegalArgumentException.class,
+            () -> taskController.getAllTasks(null, null, null, "name", null, null, null));
+    }
+
+    @Test
+    void searchTasks_ShouldDelegateToService() {
+        Task task = new Task();
+        task.setId(1L);
+        when(taskService.searchTasks("release*", 10)).thenReturn(List.of(task));
+
+        assertEquals(List.of(task), taskController.searchTasks("release*", 10));
+        verify(taskService, times(1)).searchTasks("release*", 10);
+    }
+
+    @Test
+    void createTaskAsync_ShouldReturnAcceptedWithTicketLocation() {
+        Task task = new Task();
+        task.setName("Async task");
+        when(taskService.submitTask(task)).thenReturn(TaskSubmission.pending("abc"));
 
-        when(taskService.getAllTasks()).thenReturn(mocTasks);
+        var response = taskController.createTaskAsync(task);
 
-        List<Task> result = taskController.getAllTasks();
-        assertEquals(2, result.size());
-        assertEquals("Random name 1", result.get(0).getName());
-        assertEquals("Random name 2", result.get(1).getName());
-        verify(taskService, times(1)).getAllTasks();
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/v1/tasks/submissions/abc", response.getHeaders().getLocation().toString());
+        assertEquals(TaskSubmission.State.PENDING, response.getBody().getState());
     }
 
     @Test
-    void getAllTasks_ShouldReturnEmptyList_WhenNoTasksExist() {
-        when(taskService.getAllTasks()).thenReturn(List.of());
+    void getAllTasks_ShouldReturnEmptyPage_WhenNoTasksExist() {
+        when(taskService.getTasks(new TaskFilter(), "cursor", 10)).thenReturn(new TaskPage(List.of(), null));
 
-        List<Task> result = taskController.getAllTasks();
-        assertEquals(0, result.size());
-        verify(taskService, times(1)).getAllTasks();
+        TaskPage result = taskController.getAllTasks(null, null, null, null, "cursor", 10, null).getBody();
+        assertEquals(0, result.getItems().size());
+        verify(taskService, times(1)).getTasks(new TaskFilter(), "cursor", 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasks_ShouldWriteOneJsonLinePerTask() throws Exception {
+        Task task1 = new Task();
+        task1.setId(1L);
+        task1.setName("Random name 1");
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setName("Random name 2");
+
+        doAnswer(invocation -> {
+            Consumer<Task> sink = invocation.getArgument(0);
+            sink.accept(task1);
+            sink.accept(task2);
+            return null;
+        }).when(taskService).exportTasks(any(Consumer.class));
+
+        TaskController controller = new TaskController(taskService, JsonMapper.builder().build(), null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.exportTasks(response);
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(TaskController.NDJSON, response.getContentType());
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[0].contains("\"name\":\"Random name 1\""));
+        assertEquals(true, lines[1].contains("\"name\":\"Random name 2\""));
     }
 
     @Test
@@ -62,7 +181,7 @@ public class TaskControllerTest {
 
         when(taskService.getTaskByID(1L)).thenReturn(task);
 
-        Task result = taskController.getTaskByID(1L);
+        Task result = taskController.getTaskByID(1L, null).getBody();
         assertEquals(1L, result.getId());
         assertEquals("Random name", result.getName());
         verify(taskService, times(1)).getTaskByID(1L);
@@ -72,7 +191,7 @@ public class TaskControllerTest {
     void getTaskByID_ShouldReturnNull_WhenTaskDoesNotExist() {
         when(taskService.getTaskByID(99L)).thenReturn(null);
 
-        Task result = taskController.getTaskByID(99L);
+        Task result = taskController.getTaskByID(99L, null).getBody();
         assertEquals(null, result);
         verify(taskService, times(1)).getTaskByID(99L);
     }
@@ -80,31 +199,154 @@ public class TaskControllerTest {
     @Test
     void getTaskByID_ShouldThrowException_WhenIdIsNegative() {
         when(taskService.getTaskByID(-1L)).thenThrow(new IllegalArgumentException("ID cannot be negative"));
-        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(-1L));
+        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(-1L, null));
         verify(taskService, times(1)).getTaskByID(-1L);
     }
     
     @Test
     void getTaskByID_ShouldThrowException_WhenIdIsZero() {
         when(taskService.getTaskByID(0L)).thenThrow(new IllegalArgumentException("ID cannot be zero"));
-        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(0L));
+        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(0L, null));
         verify(taskService, times(1)).getTaskByID(0L);
     }
 
     @Test
     void getTaskByID_ShouldThrowException_WhenTaskNotFound() {
         when(taskService.getTaskByID(99L)).thenThrow(new RuntimeException("Task not found"));
-        assertThrows(RuntimeException.class, () -> taskController.getTaskByID(99L));
+        assertThrows(RuntimeException.class, () -> taskController.getTaskByID(99L, null));
         verify(taskService, times(1)).getTaskByID(99L);
     }
 
     @Test
     void getTaskByID_ShouldThrowException_WhenIdIsNull() {
         when(taskService.getTaskByID(null)).thenThrow(new IllegalArgumentException("ID cannot be null"));
-        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(null));
+        assertThrows(IllegalArgumentException.class, () -> taskController.getTaskByID(null, null));
         verify(taskService, times(1)).getTaskByID(null);
     }
 
+    @Test
+    void getAllTasks_ShouldTagPageWithETag() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTasks(new TaskFilter(), null, null)).thenReturn(new TaskPage(List.of(task), null));
+
+        var response = taskController.getAllTasks(null, null, null, null, null, null, null);
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void getTaskByID_ShouldReturnETagAndLastModified() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTaskByID(1L)).thenReturn(task);
+
+        var response = taskController.getTaskByID(1L, null);
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertEquals(true, response.getHeaders().getLastModified() > 0);
+    }
+
+    @Test
+    void getTaskByID_ShouldReturnNotModifiedWithoutLoadingTask_WhenETagMatches() {
+        when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(3L, LocalDateTime.now()));
+
+        var response = taskController.getTaskByID(1L, "\"3\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(taskService, never()).getTaskByID(1L);
+    }
+
+    @Test
+    void getTaskByID_ShouldReturnNotModifiedWithTheClientsTag_WhenFormatOrCodingTagMatches() {
+        when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(3L, LocalDateTime.now()));
+
+        var response = taskController.getTaskByID(1L, "\"2-cbor\", W/\"3-cbor-gzip\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("W/\"3-cbor-gzip\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnNotModified_WhenPageTagMatches() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setVersion(3L);
+        TaskPage page = new TaskPage(List.of(task), null);
+        when(taskService.getTasks(new TaskFilter(), null, null)).thenReturn(page);
+        String gzipTag = TaskETags.withSuffix(TaskETags.of(page), "gzip");
+
+        var response = taskController.getAllTasks(null, null, null, null, null, null, gzipTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(gzipTag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void binaryBodies_ShouldGetTheirOwnETag() {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        var response = new ServletServerHttpResponse(servletResponse);
+        response.getHeaders().setETag("\"3\"");
+
+        new TaskETagAdvice().beforeBodyWrite(new Task(), null, MediaType.APPLICATION_CBOR,
+            null, null, response);
+        assertEquals("\"3-cbor\"", response.getHeaders().getETag());
+        assertEquals(List.of("\"3-cbor\""), List.copyOf(servletResponse.getHeaders(HttpHeaders.ETAG)));
+    }
+
+    @Test
+    void getTaskByID_ShouldReturnTask_WhenETagIsStale() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setVersion(4L);
+        when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(4L, LocalDateTime.now()));
+        when(taskService.getTaskByID(1L)).thenReturn(task);
+
+        var response = taskController.getTaskByID(1L, "\"3\"");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void updateTask_ShouldPassIfMatchVersionToService() {
+        Task updatedTask = new Task();
+        updatedTask.setName("Updated Task");
+        when(taskService.updateTask(1L, updatedTask, 3L)).thenReturn(updatedTask);
+
+        taskController.updateTask(1L, updatedTask, "\"3\"");
+        verify(taskService, times(1)).updateTask(1L, updatedTask, 3L);
+    }
+
+    @Test
+    void patchTask_ShouldReturnPatchedTaskWithETag() {
+        Task changes = new Task();
+        changes.setStatus(TaskStatus.DONE);
+        Task patchedTask = new Task();
+        patchedTask.setId(1L);
+        patchedTask.setStatus(TaskStatus.DONE);
+        patchedTask.setVersion(4L);
+        when(taskService.patchTask(1L, changes, 3L)).thenReturn(patchedTask);
+
+        var response = taskController.patchTask(1L, changes, "\"3\"");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertEquals(patchedTask, response.getBody());
+    }
+
+    @Test
+    void updateTask_ShouldAcceptTheTagOfAnyRepresentation() {
+        Task updatedTask = new Task();
+        when(taskService.updateTask(1L, updatedTask, 3L)).thenReturn(updatedTask);
+
+        taskController.updateTask(1L, updatedTask, "\"3-smile-gzip\"");
+        verify(taskService, times(1)).updateTask(1L, updatedTask, 3L);
+    }
+
+    @Test
+    void deleteTask_ShouldRejectWeakIfMatch() {
+        assertThrows(PreconditionFailedException.class, () -> taskController.deleteTask(1L, "W/\"3\""));
+        verify(taskService, never()).deleteTask(1L, 3L);
+    }
+
     @Test
     void createTask_ShouldCreateAndReturnTask_WhenValidTaskProvided() {
         Task taskToCreate = new Task();
@@ -158,6 +400,51 @@ public class TaskControllerTest {
         verify(taskService, times(1)).createTask(taskWithEmptyName);
     }
 
+    @Test
+    void createTasks_ShouldReturnCreated_WhenAllTasksCreated() {
+        Task task = new Task();
+        task.setName("New Task");
+        List<BatchItemResult> results = List.of(BatchItemResult.created(0, task));
+
+        when(taskService.createTasks(List.of(task))).thenReturn(results);
+
+        var response = taskController.createTasks(List.of(task));
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void createTasks_ShouldReturnMultiStatus_WhenSomeTasksRejected() {
+        Task task = new Task();
+        task.setName("New Task");
+        Task invalid = new Task();
+        List<BatchItemResult> results = List.of(
+            BatchItemResult.created(0, task),
+            BatchItemResult.rejected(1, "Task name is required."));
+
+        when(taskService.createTasks(List.of(task, invalid))).thenReturn(results);
+
+        var response = taskController.createTasks(List.of(task, invalid));
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldReturnAffectedCount() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        when(taskService.bulkUpdateStatus(request)).thenReturn(42L);
+
+        assertEquals(42L, taskController.bulkUpdateStatus(request).getAffected());
+    }
+
+    @Test
+    void bulkDelete_ShouldReturnAffectedCount() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        when(taskService.bulkDelete(request)).thenReturn(7L);
+
+        assertEquals(7L, taskController.bulkDelete(request).getAffected());
+    }
+
     @Test
     void updateTask_ShouldUpdateAndReturnTask_WhenValidTaskProvided() {
         Task updatedTask = new Task();
@@ -167,12 +454,12 @@ public class TaskControllerTest {
         savedTask.setId(1L);
         savedTask.setName("Updated Task");
 
-        when(taskService.updateTask(1L, updatedTask)).thenReturn(savedTask);
+        when(taskService.updateTask(1L, updatedTask, null)).thenReturn(savedTask);
 
-        var response = taskController.updateTask(1L, updatedTask);
+        var response = taskController.updateTask(1L, updatedTask, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(savedTask, response.getBody());
-        verify(taskService, times(1)).updateTask(1L, updatedTask);
+        verify(taskService, times(1)).updateTask(1L, updatedTask, null);
     }
 
     @Test
@@ -180,9 +467,9 @@ public class TaskControllerTest {
         Task updatedTask = new Task();
         updatedTask.setName("Updated Task");
 
-        when(taskService.updateTask(99L, updatedTask)).thenThrow(new RuntimeException("Task not found"));
-        assertThrows(RuntimeException.class, () -> taskController.updateTask(99L, updatedTask));
-        verify(taskService, times(1)).updateTask(99L, updatedTask);
+        when(taskService.updateTask(99L, updatedTask, null)).thenThrow(new RuntimeException("Task not found"));
+        assertThrows(RuntimeException.class, () -> taskController.updateTask(99L, updatedTask, null));
+        verify(taskService, times(1)).updateTask(99L, updatedTask, null);
     }
 
     @Test
@@ -191,37 +478,37 @@ public class TaskControllerTest {
         existingTask.setId(1L);
         existingTask.setName("Existing Task");
 
-        var response = taskController.deleteTask(1L);
+        var response = taskController.deleteTask(1L, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(taskService, times(1)).deleteTask(1L);
+        verify(taskService, times(1)).deleteTask(1L, null);
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenTaskNotFound() {
-        doThrow(new RuntimeException("Task not found")).when(taskService).deleteTask(99L);
-        assertThrows(RuntimeException.class, () -> taskController.deleteTask(99L));
-        verify(taskService, times(1)).deleteTask(99L);
+        doThrow(new RuntimeException("Task not found")).when(taskService).deleteTask(99L, null);
+        assertThrows(RuntimeException.class, () -> taskController.deleteTask(99L, null));
+        verify(taskService, times(1)).deleteTask(99L, null);
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenIdIsNegative() {
-        doThrow(new IllegalArgumentException("ID cannot be negative")).when(taskService).deleteTask(-1L);
-        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(-1L));
-        verify(taskService, times(1)).deleteTask(-1L);
+        doThrow(new IllegalArgumentException("ID cannot be negative")).when(taskService).deleteTask(-1L, null);
+        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(-1L, null));
+        verify(taskService, times(1)).deleteTask(-1L, null);
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenIdIsZero() {
-        doThrow(new IllegalArgumentException("ID cannot be zero")).when(taskService).deleteTask(0L);
-        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(0L));
-        verify(taskService, times(1)).deleteTask(0L);
+        doThrow(new IllegalArgumentException("ID cannot be zero")).when(taskService).deleteTask(0L, null);
+        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(0L, null));
+        verify(taskService, times(1)).deleteTask(0L, null);
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenIdIsNull() {
-        doThrow(new IllegalArgumentException("ID cannot be null")).when(taskService).deleteTask(null);
-        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(null));
-        verify(taskService, times(1)).deleteTask(null);
+        doThrow(new IllegalArgumentException("ID cannot be null")).when(taskService).deleteTask(null, null);
+        assertThrows(IllegalArgumentException.class, () -> taskController.deleteTask(null, null));
+        verify(taskService, times(1)).deleteTask(null, null);
     }
 }
@@ -0,0 +1,120 @@
+package io.github.mertso13.taskmanagerapi.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.github.mertso13.taskmanagerapi.config.TaskFeedProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskFeedEvent;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+
+public class TaskEventFeedTest {
+
+    private TaskEventFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        TaskFeedProperties properties = new TaskFeedProperties();
+        properties.setBufferSize(4);
+        properties.setHeartbeat(Duration.ofMillis(50));
+        feed = new TaskEventFeed(properties);
+    }
+
+    @Test
+    void eventsAfter_ShouldReturnBufferedEventsInOrder() {
+        publish(1L);
+        publish(2L);
+        publish(3L);
+
+        assertEquals(List.of(2L, 3L), List.copyOf(feed.eventsAfter(1L).keySet()));
+        assertEquals(3L, feed.eventsAfter(1L).get(3L).getTaskId());
+    }
+
+    @Test
+    void eventsAfter_ShouldReturnNull_WhenCursorWasOverwritten() {
+        for (long id = 1; id <= 10; id++) {
+            publish(id);
+        }
+
+        assertNull(feed.eventsAfter(5L));
+        assertEquals(List.of(7L, 8L, 9L, 10L), List.copyOf(feed.eventsAfter(6L).keySet()));
+    }
+
+    @Test
+    void resumeFrom_ShouldForceResync_WhenIdIsUnknown() {
+        publish(1L);
+
+        assertEquals(1L, feed.resumeFrom(null));
+        assertEquals(0L, feed.resumeFrom("0"));
+        assertEquals(Long.MIN_VALUE, feed.resumeFrom("42"));
+        assertEquals(Long.MIN_VALUE, feed.resumeFrom("abc"));
+    }
+
+    @Test
+    void subscribe_ShouldDeliverNewEvents() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        feed.subscribe(null, emitter);
+
+        publish(7L);
+        publish(8L);
+
+        assertTrue(emitter.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(emitter.lines.stream().anyMatch(line -> line.contains("event:created")));
+        assertTrue(emitter.lines.stream().anyMatch(line -> line.contains("id:2")));
+    }
+
+    @Test
+    void subscribe_ShouldSendResyncAndClose_WhenResumePointIsGone() throws Exception {
+        for (long id = 1; id <= 10; id++) {
+            publish(id);
+        }
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        feed.subscribe("1", emitter);
+
+        assertTrue(emitter.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(emitter.lines.get(0).contains("event:" + TaskEventFeed.RESYNC));
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    private void publish(long taskId) {
+        feed.publish(new TaskFeedEvent(TaskChangedEvent.Type.CREATED, taskId, TaskStatus.TODO, null));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private RecordingEmitter(int events) {
+            this.latch = new CountDownLatch(events);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            if (!text.toString().startsWith(":")) {
+                lines.add(text.toString());
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
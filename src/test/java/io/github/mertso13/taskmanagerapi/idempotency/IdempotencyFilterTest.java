@@ -0,0 +1,226 @@
+package io.github.mertso13.taskmanagerapi.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import io.github.mertso13.taskmanagerapi.config.TaskIdempotencyProperties;
+import io.github.mertso13.taskmanagerapi.exception.UnprocessableContentException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+    private TaskIdempotencyProperties properties;
+    private IdempotencyFilter filter;
+
+    // Stands in for the controller: echoes the body back as a created task with a new id.
+    private final FilterChain createTask = (request, response) -> {
+        int id = executions.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(201);
+        http.setContentType("application/json");
+        http.setHeader(HttpHeaders.LOCATION, "/api/v1/tasks/" + id);
+        http.getWriter().write("{\"id\":" + id + ",\"request\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskIdempotencyProperties();
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(properties), properties, exceptionResolver);
+    }
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post(key, body), response, chain);
+        return response;
+    }
+
+    @Test
+    void retryWithSameKey_ShouldReplayFirstResponseWithoutExecuting() throws Exception {
+        MockHttpServletResponse first = send("k1", "{\"name\":\"a\"}", createTask);
+        MockHttpServletResponse retry = send("k1", "{\"name\":\"a\"}", createTask);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("/api/v1/tasks/1", retry.getHeader(HttpHeaders.LOCATION));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void requestsWithoutKeyOrWithOtherKey_ShouldExecuteEachTime() throws Exception {
+        send(null, "{\"name\":\"a\"}", createTask);
+        send(null, "{\"name\":\"a\"}", createTask);
+        send("k1", "{\"name\":\"a\"}", createTask);
+        send("k2", "{\"name\":\"a\"}", createTask);
+
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void readListener_ShouldGetTheCachedBody() throws Exception {
+        StringBuilder read = new StringBuilder();
+        FilterChain nonBlocking = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    read.append('|');
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    read.append("error");
+                }
+            });
+        };
+
+        send("k1", "{\"name\":\"a\"}", nonBlocking);
+
+        assertEquals("{\"name\":\"a\"}|", read.toString());
+    }
+
+    @Test
+    void sameKeyWithDifferentBody_ShouldBeRejected() throws Exception {
+        send("k1", "{\"name\":\"a\"}", createTask);
+        send("k1", "{\"name\":\"b\"}", createTask);
+
+        assertEquals(1, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(UnprocessableContentException.class));
+    }
+
+    @Test
+    void blankKey_ShouldBeRejected() throws Exception {
+        send(" ", "{\"name\":\"a\"}", createTask);
+
+        assertEquals(0, executions.get());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(IllegalArgumentException.class));
+    }
+
+    @Test
+    void serverError_ShouldNotBeKept() throws Exception {
+        send("k1", "{}", (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        });
+        MockHttpServletResponse retry = send("k1", "{}", createTask);
+
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void acceptedAsyncSubmission_ShouldNotBeKept() throws Exception {
+        FilterChain submitTask = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(202);
+        };
+        send("k1", "{}", submitTask);
+        MockHttpServletResponse retry = send("k1", "{}", createTask);
+
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentDuplicates_ShouldWaitForTheInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            createTask.doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send("k1", "{}", slowCreate));
+            started.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> second = executor.submit(() -> send("k1", "{}", slowCreate));
+            Future<MockHttpServletResponse> third = executor.submit(() -> send("k1", "{}", slowCreate));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(first.get().getContentAsString(), second.get().getContentAsString());
+            assertEquals(first.get().getContentAsString(), third.get().getContentAsString());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void jdbcStore_ShouldReplayAcrossFilterInstancesAndIgnoreExpiredRows() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, properties);
+
+        filter = new IdempotencyFilter(store, properties, exceptionResolver);
+        MockHttpServletResponse first = send("k1", "{}", createTask);
+        filter = new IdempotencyFilter(store, properties, exceptionResolver);
+        MockHttpServletResponse retry = send("k1", "{}", createTask);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+
+        jdbcTemplate.update("update idempotency_keys set created_at = ?", LocalDateTime.now().minusDays(2));
+        assertNull(store.find("k1"));
+        store.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Integer.class));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.mertso13.taskmanagerapi.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import io.github.mertso13.taskmanagerapi.controller.TaskController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SqlMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlMetricsInterceptor interceptor = new SqlMetricsInterceptor(registry);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void afterCompletion_ShouldRecordStatementsAndRowsPerHandler() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+        interceptor.preHandle(request, response, handler);
+        new SqlStatementInspector().inspect("select 1");
+        new SqlStatementInspector().inspect("select 2");
+        new RowsLoadedListener().onLoad(new Object());
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements = registry.get("tasks.request.sql.statements")
+            .tag("handler", "Object.toString").summary();
+        DistributionSummary rows = registry.get("tasks.request.rows.loaded")
+            .tag("handler", "Object.toString").summary();
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(1.0, rows.totalAmount());
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_ShouldClearThreadAndCountWholeRequest() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+        interceptor.preHandle(request, response, handler);
+        new SqlStatementInspector().inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        assertNull(RequestSqlStats.end());
+
+        interceptor.preHandle(request, response, handler);
+        new SqlStatementInspector().inspect("select 2");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(2.0, registry.get("tasks.request.sql.statements")
+            .tag("handler", "Object.toString").summary().totalAmount());
+    }
+
+    @Test
+    void inspector_ShouldNotCount_OutsideMeasuredRequest() {
+        new SqlStatementInspector().inspect("select 1");
+
+        assertNull(RequestSqlStats.end());
+    }
+
+    @Test
+    void afterCompletion_ShouldIgnoreNonControllerHandlers() {
+        interceptor.preHandle(request, response, TaskController.class);
+        interceptor.afterCompletion(request, response, TaskController.class, null);
+
+        assertEquals(0, registry.getMeters().size());
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.mertso13.taskmanagerapi.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+public class TaskRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 30; i++) {
+            Task task = new Task();
+            task.setName("Task " + i);
+            task.setStatus(statuses[i % statuses.length]);
+            // Pairs share a timestamp so the id tie-breaker is exercised.
+            task.setCreatedAt(START.plusMinutes(i / 2));
+            taskRepository.save(task);
+        }
+        taskRepository.flush();
+    }
+
+    @Test
+    void findPage_ShouldFilterByStatusAndCreatedRange() {
+        TaskFilter filter = new TaskFilter(TaskStatus.TODO, START.plusMinutes(3), START.plusMinutes(10), TaskSort.CREATED_AT);
+
+        List<Task> tasks = taskRepository.findPage(filter, null, Limit.of(100));
+
+        assertTrue(tasks.stream().allMatch(t -> t.getStatus() == TaskStatus.TODO));
+        assertTrue(tasks.stream().allMatch(t -> !t.getCreatedAt().isBefore(START.plusMinutes(3))
+            && t.getCreatedAt().isBefore(START.plusMinutes(10))));
+        assertEquals(5, tasks.size());
+    }
+
+    @Test
+    void findPage_ShouldWalkEveryRowOnce_ForEachSort() {
+        for (TaskSort sort : TaskSort.values()) {
+            TaskFilter filter = new TaskFilter(null, null, null, sort);
+            List<Task> expected = taskRepository.findPage(filter, null, Limit.of(100));
+            List<Task> walked = new java.util.ArrayList<>();
+            TaskCursor cursor = null;
+            List<Task> page;
+            do {
+                page = taskRepository.findPage(filter, cursor, Limit.of(7));
+                walked.addAll(page);
+                cursor = page.isEmpty() ? null : TaskCursor.of(page.get(page.size() - 1));
+            } while (page.size() == 7);
+
+            assertEquals(30, expected.size(), sort.name());
+            assertEquals(expected.stream().map(Task::getId).toList(), walked.stream().map(Task::getId).toList(), sort.name());
+        }
+    }
+
+    @Test
+    void findPage_ShouldSortDescending_WhenRequested() {
+        List<Task> tasks = taskRepository.findPage(new TaskFilter(null, null, null, TaskSort.ID_DESC), null, Limit.of(3));
+
+        assertTrue(tasks.get(0).getId() > tasks.get(1).getId());
+        assertTrue(tasks.get(1).getId() > tasks.get(2).getId());
+    }
+
+    // Query-plan evidence: H2 names the index it picks in EXPLAIN output, and "tableScan" otherwise.
+    @Test
+    void explain_ShouldUseStatusIndex_WhenFilteringByStatusAndCreatedRange() {
+        String plan = explain("""
+            select * from tasks
+            where status = 'TODO' and created_at >= timestamp '2025-01-01 12:00:00'
+              and created_at < timestamp '2025-01-01 13:00:00'
+            order by created_at, id
+            fetch first 51 rows only
+            """);
+
+        assertTrue(plan.contains("IDX_TASKS_STATUS_CREATED_AT_ID"), plan);
+        assertTrue(!plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void explain_ShouldUseCreatedAtIndex_WhenFilteringByCreatedRangeOnly() {
+        String plan = explain("""
+            select * from tasks
+            where created_at >= timestamp '2025-01-01 12:00:00'
+            order by created_at, id
+            fetch first 51 rows only
+            """);
+
+        assertTrue(plan.contains("IDX_TASKS_CREATED_AT_ID"), plan);
+        assertTrue(!plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void explain_ShouldUseStatusIndex_WhenFilteringByStatusSortedById() {
+        String plan = explain("""
+            select * from tasks
+            where status = 'DONE' and id > 10
+            order by id
+            fetch first 51 rows only
+            """);
+
+        assertTrue(plan.contains("IDX_TASKS_STATUS_CREATED_AT_ID") || plan.contains("PRIMARY_KEY"), plan);
+        assertTrue(!plan.contains("tableScan"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+
+    @Test
+    void patchReturningPrevious_ShouldUpdateOnlyGivenColumnsAndReturnOldRow() {
+        Task seeded = taskRepository.findAll().get(0);
+        Task changes = new Task();
+        changes.setStatus(TaskStatus.DONE);
+        LocalDateTime now = LocalDateTime.now();
+
+        Task previous = taskRepository.patchReturningPrevious(seeded.getId(), changes, now, seeded.getVersion()).orElseThrow();
+
+        assertEquals(seeded.getStatus(), previous.getStatus());
+        assertEquals(seeded.getVersion(), previous.getVersion());
+        assertEquals("DONE", jdbcTemplate.queryForObject("select status from tasks where id = ?", String.class, seeded.getId()));
+        assertEquals(seeded.getName(), jdbcTemplate.queryForObject("select name from tasks where id = ?", String.class, seeded.getId()));
+        assertEquals(seeded.getVersion() + 1,
+            jdbcTemplate.queryForObject("select version from tasks where id = ?", Long.class, seeded.getId()));
+    }
+
+    @Test
+    void patchReturningPrevious_ShouldMatchNothing_WhenVersionIsStale() {
+        Task seeded = taskRepository.findAll().get(0);
+        Task changes = new Task();
+        changes.setName("Renamed");
+
+        assertTrue(taskRepository.patchReturningPrevious(seeded.getId(), changes, LocalDateTime.now(), seeded.getVersion() + 1).isEmpty());
+        assertTrue(taskRepository.patchReturningPrevious(-1L, changes, LocalDateTime.now(), null).isEmpty());
+    }
+
+    @Test
+    void deleteReturningStatus_ShouldDeleteInOneStatementAndReturnStatus() {
+        Task seeded = taskRepository.findAll().get(0);
+
+        assertEquals(List.of(seeded.getStatus().name()),
+            taskRepository.deleteByIdAndVersionReturningStatus(seeded.getId(), seeded.getVersion()));
+        assertEquals(List.of(), taskRepository.deleteReturningStatus(seeded.getId()));
+        assertEquals(29L, jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+    }
+
+    @Test
+    void findViewPage_ShouldWalkTheSameRowsAsFindPage_WithoutManagedEntities() {
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.CREATED_AT, TaskField.VERSION);
+        for (TaskSort sort : TaskSort.values()) {
+            TaskFilter filter = new TaskFilter(TaskStatus.TODO, null, null, sort);
+            List<Long> expected = taskRepository.findPage(filter, null, Limit.of(100)).stream().map(Task::getId).toList();
+            entityManager.clear();
+
+            List<TaskView> walked = new java.util.ArrayList<>();
+            TaskCursor cursor = null;
+            List<TaskView> page;
+            do {
+                page = taskRepository.findViewPage(filter, cursor, fields, 3);
+                walked.addAll(page);
+                TaskView last = page.isEmpty() ? null : page.get(page.size() - 1);
+                cursor = last == null ? null : new TaskCursor(last.createdAt(), last.id());
+            } while (page.size() == 3);
+
+            assertEquals(expected, walked.stream().map(TaskView::id).toList(), sort.name());
+            assertTrue(walked.stream().allMatch(view -> view.name() != null && view.description() == null
+                && view.status() == null && view.updatedAt() == null), sort.name());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(), sort.name());
+        }
+    }
+
+    @Test
+    void findViewById_ShouldReturnOnlyRequestedColumns() {
+        Task seeded = taskRepository.findAll().get(0);
+        entityManager.clear();
+
+        TaskView view = taskRepository.findViewById(seeded.getId(), EnumSet.of(TaskField.ID, TaskField.STATUS, TaskField.VERSION))
+            .orElseThrow();
+
+        assertEquals(new TaskView(seeded.getId(), null, null, seeded.getStatus(), null, null, seeded.getVersion()), view);
+        assertTrue(taskRepository.findViewById(-1L, EnumSet.of(TaskField.ID)).isEmpty());
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.mertso13.taskmanagerapi.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.mertso13.taskmanagerapi.config.TaskRetentionProperties;
+import io.github.mertso13.taskmanagerapi.dto.ArchivedTaskPage;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.model.ArchivedTask;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+import io.github.mertso13.taskmanagerapi.stats.TaskStatusCounters;
+import jakarta.persistence.EntityNotFoundException;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:retention-test;DB_CLOSE_DELAY=-1",
+    "task.cache.enabled=false",
+    "task.retention.chunk-delay=0s"
+})
+public class TaskRetentionTest {
+
+    @Autowired
+    private TaskRetention taskRetention;
+
+    @Autowired
+    private TaskRetentionProperties properties;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusCounters taskStatusCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        BulkTaskRequest all = new BulkTaskRequest();
+        all.setCreatedBefore(LocalDateTime.now().plusYears(1));
+        taskService.bulkDelete(all);
+        jdbcTemplate.update("delete from tasks_archive");
+    }
+
+    @AfterEach
+    void restore() {
+        properties.setMode(TaskRetentionProperties.Mode.ARCHIVE);
+        properties.setChunkSize(500);
+        taskRetention.resume();
+    }
+
+    // Created through the service, then aged in place, as if the last update was long ago.
+    private Task task(String name, TaskStatus status, int daysAgo) {
+        Task task = new Task();
+        task.setName(name);
+        task.setDescription("about " + name);
+        Task created = taskService.createTask(task);
+        if (status != TaskStatus.TODO) {
+            Task update = new Task();
+            update.setStatus(status);
+            created = taskService.updateTask(created.getId(), update);
+        }
+        jdbcTemplate.update("update tasks set updated_at = ? where id = ?",
+            LocalDateTime.now().minusDays(daysAgo), created.getId());
+        return created;
+    }
+
+    private List<Long> taskIds() {
+        return jdbcTemplate.queryForList("select id from tasks order by id", Long.class);
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyOldDoneTasks() {
+        Task old = task("Old done", TaskStatus.DONE, 60);
+        Task recent = task("Recent done", TaskStatus.DONE, 1);
+        Task oldOpen = task("Old open", TaskStatus.IN_PROGRESS, 60);
+        Long version = jdbcTemplate.queryForObject("select version from tasks where id = ?", Long.class, old.getId());
+
+        assertEquals(1, taskRetention.runNow());
+
+        assertEquals(List.of(recent.getId(), oldOpen.getId()), taskIds());
+        ArchivedTask archived = taskService.getArchivedTask(old.getId());
+        assertEquals("Old done", archived.getName());
+        assertEquals("about Old done", archived.getDescription());
+        assertEquals(TaskStatus.DONE, archived.getStatus());
+        assertEquals(version, archived.getVersion());
+        assertTrue(archived.getArchivedAt() != null);
+        // The delete went through the usual events.
+        assertEquals(1L, taskStatusCounters.counts().get(TaskStatus.DONE));
+        assertTrue(taskService.searchTasks("old", 10).stream().noneMatch(task -> task.getId().equals(old.getId())));
+        assertThrows(EntityNotFoundException.class, () -> taskService.getTaskByID(old.getId()));
+    }
+
+    @Test
+    void purge_ShouldDeleteWithoutArchiving() {
+        Task old = task("Old done", TaskStatus.DONE, 60);
+        properties.setMode(TaskRetentionProperties.Mode.PURGE);
+
+        assertEquals(1, taskRetention.runNow());
+
+        assertEquals(List.of(), taskIds());
+        assertThrows(EntityNotFoundException.class, () -> taskService.getArchivedTask(old.getId()));
+    }
+
+    @Test
+    void runNow_ShouldWorkInChunks() {
+        for (int i = 0; i < 5; i++) {
+            task("Old " + i, TaskStatus.DONE, 60 - i);
+        }
+        properties.setChunkSize(2);
+        long chunksBefore = taskRetention.stats().chunks();
+
+        assertEquals(5, taskRetention.runNow());
+
+        assertEquals(3, taskRetention.stats().chunks() - chunksBefore);
+        assertEquals(5, taskRetention.stats().lastRunTasks());
+        assertEquals(List.of(), taskIds());
+    }
+
+    @Test
+    void pause_ShouldStopRunsAndTriggers() {
+        task("Old done", TaskStatus.DONE, 60);
+        taskRetention.pause();
+
+        assertFalse(taskRetention.trigger());
+        assertEquals(0, taskRetention.runNow());
+        assertEquals(1, taskIds().size());
+        assertTrue(taskRetention.stats().paused());
+    }
+
+    @Test
+    void getArchivedTasks_ShouldPageInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(task("Old " + i, TaskStatus.DONE, 60).getId());
+        }
+        taskRetention.runNow();
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            ArchivedTaskPage page = taskService.getArchivedTasks(after, 2);
+            page.getItems().forEach(task -> seen.add(task.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertEquals(ids, seen);
+        assertNull(taskService.getArchivedTasks(null, 10).getNextCursor());
+    }
+}
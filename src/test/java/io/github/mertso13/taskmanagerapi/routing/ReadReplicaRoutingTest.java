@@ -0,0 +1,193 @@
+package io.github.mertso13.taskmanagerapi.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.mertso13.taskmanagerapi.config.TaskClientProperties;
+import io.github.mertso13.taskmanagerapi.config.TaskDataSourceProperties;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+
+// Two in-memory H2 databases kept in sync by TaskReplicator, wired like ReadReplicaConfig does.
+public class ReadReplicaRoutingTest {
+
+    private static final String INSERT = "insert into tasks (id, version, status, created_at, updated_at, name, description)"
+        + " values (?, 0, 'TODO', current_timestamp, current_timestamp, ?, null)";
+
+    private TaskDataSourceProperties properties;
+    private DataSource primaryDataSource;
+    private DataSource replicaDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    private static DataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskDataSourceProperties();
+        properties.getReplication().setLag(Duration.ZERO);
+        primaryDataSource = h2();
+        replicaDataSource = h2();
+        Flyway.configure().dataSource(primaryDataSource).load().migrate();
+
+        ReplicaRoutingDataSource readDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+        readDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+    }
+
+    private TaskReplicator replicator() {
+        TaskReplicator replicator = new TaskReplicator(primaryDataSource, replicaDataSource, properties);
+        replicator.afterSingletonsInstantiated();
+        return replicator;
+    }
+
+    private void insert(long id, String name) {
+        writes.executeWithoutResult(status -> jdbcTemplate.update(INSERT, id, name));
+    }
+
+    private long countOnRead() {
+        return reads.execute(status -> jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+    }
+
+    private long countOnReplica() {
+        return new JdbcTemplate(replicaDataSource).queryForObject("select count(*) from tasks", Long.class);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUseReplica_AndWritesThePrimary() {
+        replicator();
+        insert(1, "first");
+
+        assertEquals(1L, (long) writes.execute(status -> jdbcTemplate.queryForObject("select count(*) from tasks", Long.class)));
+        assertEquals(0, countOnRead());
+    }
+
+    @Test
+    void forcedPrimary_ShouldServeReadOnlyTransactions() {
+        replicator();
+        insert(1, "first");
+
+        long onPrimary = ReadRouting.onPrimary(this::countOnRead);
+
+        assertEquals(1, onPrimary);
+        assertFalse(ReadRouting.isPrimaryForced());
+        assertEquals(0, countOnRead());
+    }
+
+    @Test
+    void replicator_ShouldCopyExistingRows_ThenCommittedChanges() {
+        insert(1, "before start");
+        TaskReplicator replicator = replicator();
+        assertEquals(1, countOnReplica());
+
+        insert(2, "new");
+        writes.executeWithoutResult(status -> jdbcTemplate.update("update tasks set name = 'renamed', version = 1 where id = 1"));
+        replicator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 2L, null, null, null));
+        replicator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, null, null, null));
+        replicator.replicate();
+
+        assertEquals(2, countOnRead());
+        assertEquals("renamed", reads.execute(status ->
+            jdbcTemplate.queryForObject("select name from tasks where id = 1", String.class)));
+
+        writes.executeWithoutResult(status -> jdbcTemplate.update("delete from tasks where id = 2"));
+        replicator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 2L, null, null, null));
+        replicator.replicate();
+
+        assertEquals(1, countOnRead());
+        assertEquals(0, replicator.pending());
+    }
+
+    @Test
+    void replicator_ShouldHoldChangesBackForTheLag() {
+        properties.getReplication().setLag(Duration.ofHours(1));
+        TaskReplicator replicator = replicator();
+
+        insert(1, "lagging");
+        replicator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 1L, null, null, null));
+        replicator.replicate();
+
+        assertEquals(0, countOnRead());
+        assertEquals(1, replicator.pending());
+        assertTrue(replicator.delayMillis() >= 0);
+    }
+
+    @Test
+    void interceptor_ShouldSendReadsAfterOwnWriteToPrimary() {
+        ReadRoutingInterceptor interceptor = new ReadRoutingInterceptor(properties, new TaskClientProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/v1/tasks");
+        write.addHeader("X-Client-Id", "alice");
+        interceptor.preHandle(write, response, null);
+        assertFalse(ReadRouting.isPrimaryForced());
+        interceptor.afterCompletion(write, response, null, null);
+
+        MockHttpServletRequest ownRead = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        ownRead.addHeader("X-Client-Id", "alice");
+        interceptor.preHandle(ownRead, response, null);
+        assertTrue(ReadRouting.isPrimaryForced());
+        interceptor.afterCompletion(ownRead, response, null, null);
+        assertFalse(ReadRouting.isPrimaryForced());
+
+        MockHttpServletRequest otherRead = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        otherRead.addHeader("X-Client-Id", "bob");
+        interceptor.preHandle(otherRead, response, null);
+        assertFalse(ReadRouting.isPrimaryForced());
+        interceptor.afterCompletion(otherRead, response, null, null);
+
+        otherRead.addHeader(ReadRoutingInterceptor.PRIMARY_HEADER, "true");
+        interceptor.preHandle(otherRead, response, null);
+        assertTrue(ReadRouting.isPrimaryForced());
+        interceptor.afterCompletion(otherRead, response, null, null);
+    }
+
+    @Test
+    void interceptor_WithoutWindow_ShouldOnlyHonourHeader() {
+        properties.setReadYourWrites(Duration.ZERO);
+        ReadRoutingInterceptor interceptor = new ReadRoutingInterceptor(properties, new TaskClientProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletRequest write = new MockHttpServletRequest("DELETE", "/api/v1/tasks/1");
+        interceptor.preHandle(write, response, null);
+        interceptor.afterCompletion(write, response, null, null);
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/tasks/1");
+        interceptor.preHandle(read, response, null);
+
+        assertFalse(ReadRouting.isPrimaryForced());
+    }
+}
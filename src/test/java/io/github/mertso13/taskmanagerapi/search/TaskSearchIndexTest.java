@@ -0,0 +1,138 @@
+package io.github.mertso13.taskmanagerapi.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.mertso13.taskmanagerapi.dto.TaskSearchStats;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.model.Task;
+
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(null, null, null, null);
+        index.index(task(1L, "Write release notes", "Summarise the changes for 2.0"));
+        index.index(task(2L, "Release build", "Tag and publish the release"));
+        index.index(task(3L, "Fix login bug", null));
+    }
+
+    @Test
+    void search_ShouldRequireEveryWord() {
+        assertEquals(List.of(2L, 1L), index.search("release", 10));
+        assertEquals(List.of(1L), index.search("Release NOTES", 10));
+        assertEquals(List.of(), index.search("release login", 10));
+    }
+
+    @Test
+    void search_ShouldMatchPrefix_WhenWordEndsWithStar() {
+        assertEquals(List.of(2L, 1L), index.search("rel*", 10));
+        assertEquals(List.of(3L), index.search("log*", 10));
+        assertEquals(List.of(1L), index.search("rel* summ*", 10));
+    }
+
+    @Test
+    void search_ShouldMergeManyTermsUnderOnePrefix() {
+        for (long id = 10; id < 2010; id++) {
+            // Two terms per task, so ids repeat across the terms the prefix expands to.
+            index.index(task(id, "tag" + id + " tag" + (id + 1), null));
+        }
+
+        List<Long> found = index.search("ta*", 5000);
+
+        assertEquals(2001, found.size());
+        assertEquals(2L, found.get(found.size() - 1));
+        for (int i = 1; i < found.size(); i++) {
+            assertTrue(found.get(i - 1) > found.get(i));
+        }
+    }
+
+    @Test
+    void search_ShouldReturnNewestFirstAndHonourLimit() {
+        assertEquals(List.of(2L), index.search("release", 1));
+    }
+
+    @Test
+    void search_ShouldThrowException_WhenQueryHasNoWordsOrPrefixTooShort() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("  --  ", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("r*", 10));
+    }
+
+    @Test
+    void index_ShouldReplaceOldTokens_WhenTaskIsUpdated() {
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 3L, task(3L, "Fix logout bug", null), null, null));
+
+        assertEquals(List.of(), index.search("login", 10));
+        assertEquals(List.of(3L), index.search("logout", 10));
+    }
+
+    @Test
+    void onTaskChanged_ShouldRemoveTask_WhenDeleted() {
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 2L, null, null, null));
+
+        assertEquals(List.of(1L), index.search("release", 10));
+        assertEquals(2, index.documentCount());
+    }
+
+    @Test
+    void onTaskChanged_ShouldIgnoreBulkUpdates_WithoutTask() {
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, null, null, null));
+
+        assertEquals(List.of(2L, 1L), index.search("release", 10));
+    }
+
+    @Test
+    void stats_ShouldReportMemoryPerTask() {
+        TaskSearchStats stats = index.stats();
+
+        assertEquals(3, stats.getDocuments());
+        assertTrue(stats.getTerms() > 10);
+        assertTrue(stats.getBytesPerTask() > 0);
+        assertEquals(stats.getEstimatedBytes() / 3.0, stats.getBytesPerTask(), 0.001);
+    }
+
+    @Test
+    void search_ShouldStayConsistent_WhileTasksAreIndexedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (long id = 100; id < 5_000; id++) {
+                    index.index(task(id, "Release candidate " + id, null));
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                while (!writer.isDone()) {
+                    List<Long> ids = index.search("release cand*", 50);
+                    for (int i = 1; i < ids.size(); i++) {
+                        assertTrue(ids.get(i - 1) > ids.get(i));
+                    }
+                }
+            });
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4_900, index.search("candidate", 10_000).size());
+    }
+
+    private static Task task(Long id, String name, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName(name);
+        task.setDescription(description);
+        return task;
+    }
+}
@@ -2,22 +2,67 @@ package io.github.mertso13.taskmanagerapi.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.mertso13.taskmanagerapi.cache.TaskCache;
+import io.github.mertso13.taskmanagerapi.config.TaskCacheProperties;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskCursor;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskIdStatus;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskStats;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.dto.TaskVersion;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.exception.PreconditionFailedException;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
 import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.repository.TaskArchiveRepository;
 import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+import io.github.mertso13.taskmanagerapi.search.TaskSearchIndex;
+import io.github.mertso13.taskmanagerapi.stats.TaskStatusCounters;
+import io.github.mertso13.taskmanagerapi.writebehind.TaskWriteBehind;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,11 +71,35 @@ public class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(new TaskCacheProperties());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatusCounters taskStatusCounters;
+
+    @Mock
+    private TaskWriteBehind taskWriteBehind;
+
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
     @Test
-    void getAllTasks_ShouldReturnAllTasks_WhenTasksExist() {
+    void getTasks_ShouldReturnFirstPageWithoutCursor_WhenTasksFitInPage() {
         Task task1 = new Task();
         task1.setName("Random name 1");
 
@@ -39,30 +108,235 @@ public class TaskServiceImplTest {
 
         List<Task> mocTasks = List.of(task1, task2);
 
-        when(taskRepository.findAll()).thenReturn(mocTasks);
+        when(taskRepository.findPage(any(TaskFilter.class), isNull(), eq(Limit.of(51)))).thenReturn(mocTasks);
 
-        List<Task> result = taskService.getAllTasks();
+        TaskPage result = taskService.getTasks(null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Random name 1", result.get(0).getName());
-        assertEquals("Random name 2", result.get(1).getName());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Random name 1", result.getItems().get(0).getName());
+        assertEquals("Random name 2", result.getItems().get(1).getName());
+        assertNull(result.getNextCursor());
 
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findPage(any(TaskFilter.class), isNull(), eq(Limit.of(51)));
     }
 
     @Test
-    void getAllTasks_ShouldReturnEmptyList_WhenNoTasksExist() {
-        when(taskRepository.findAll()).thenReturn(List.of());
+    void getTasks_ShouldReturnEmptyPage_WhenNoTasksExist() {
+        when(taskRepository.findPage(any(TaskFilter.class), isNull(), eq(Limit.of(51)))).thenReturn(List.of());
 
-        List<Task> result = taskService.getAllTasks();
+        TaskPage result = taskService.getTasks(null, null);
 
         assertNotNull(result);
-        assertEquals(0, result.size());
+        assertEquals(0, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTasks_ShouldReturnCursorOfLastItem_WhenMoreTasksExist() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Task task1 = new Task();
+        task1.setId(1L);
+        task1.setCreatedAt(createdAt);
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setCreatedAt(createdAt);
+
+        when(taskRepository.findPage(any(TaskFilter.class), isNull(), eq(Limit.of(2)))).thenReturn(List.of(task1, task2));
+
+        TaskPage result = taskService.getTasks(null, 1);
+
+        assertEquals(1, result.getItems().size());
+        TaskCursor cursor = TaskCursor.decode(result.getNextCursor());
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(1L, cursor.id());
+    }
+
+    @Test
+    void getTasks_ShouldSeekPastCursor_WhenCursorProvided() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        String after = new TaskCursor(createdAt, 7L).encode();
+
+        when(taskRepository.findPage(any(TaskFilter.class), eq(new TaskCursor(createdAt, 7L)), eq(Limit.of(11)))).thenReturn(List.of());
+
+        TaskPage result = taskService.getTasks(after, 10);
+
+        assertEquals(0, result.getItems().size());
+        verify(taskRepository, times(1)).findPage(any(TaskFilter.class), eq(new TaskCursor(createdAt, 7L)), eq(Limit.of(11)));
+    }
+
+    @Test
+    void getTasks_ShouldThrowException_WhenLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(null, TaskServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getTasks_ShouldThrowException_WhenCursorIsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks("not-a-cursor", null));
+    }
+
+    @Test
+    void getTasks_ShouldPassFilterToRepository_WhenFilterProvided() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 12, 0);
+        TaskFilter filter = new TaskFilter(TaskStatus.TODO, from, from.plusHours(1), TaskSort.ID_DESC);
+        when(taskRepository.findPage(filter, null, Limit.of(21))).thenReturn(List.of());
 
-        verify(taskRepository, times(1)).findAll();
+        TaskPage result = taskService.getTasks(filter, null, 20);
+
+        assertEquals(0, result.getItems().size());
+        verify(taskRepository, times(1)).findPage(filter, null, Limit.of(21));
+    }
+
+    @Test
+    void getTasks_ShouldThrowException_WhenCreatedRangeIsEmpty() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 12, 0);
+        TaskFilter filter = new TaskFilter(null, from, from, TaskSort.CREATED_AT);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(filter, null, null));
+        verify(taskRepository, never()).findPage(any(), any(), any());
     }
     
+    @Test
+    void getTaskViews_ShouldSelectCreatedAtForCursor_OnlyWhenSortedByIt() {
+        Set<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.VERSION);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(taskRepository.findViewPage(any(TaskFilter.class), isNull(), eq(EnumSet.of(TaskField.ID, TaskField.NAME,
+                TaskField.CREATED_AT, TaskField.VERSION)), eq(2)))
+            .thenReturn(List.of(new TaskView(1L, "a", null, null, createdAt, null, 0L),
+                new TaskView(2L, "b", null, null, createdAt, null, 0L)));
+        when(taskRepository.findViewPage(any(TaskFilter.class), isNull(), eq(fields), eq(2)))
+            .thenReturn(List.of(new TaskView(1L, "a", null, null, null, null, 0L),
+                new TaskView(2L, "b", null, null, null, null, 0L)));
+
+        TaskViewPage byCreatedAt = taskService.getTaskViews(new TaskFilter(), null, 1, fields);
+        TaskViewPage byId = taskService.getTaskViews(new TaskFilter(null, null, null, TaskSort.ID), null, 1, fields);
+
+        assertEquals(new TaskCursor(createdAt, 1L), TaskCursor.decode(byCreatedAt.getNextCursor()));
+        assertEquals(new TaskCursor(null, 1L), TaskCursor.decode(byId.getNextCursor()));
+        assertEquals(1, byId.getItems().size());
+        assertThrows(IllegalArgumentException.class,
+            () -> taskService.getTaskViews(new TaskFilter(), byId.getNextCursor(), 1, fields));
+    }
+
+    @Test
+    void getTaskViews_ShouldLeaveOutCreatedAt_WhenOnlySelectedForCursor() {
+        Set<TaskField> fields = TaskField.parse("name");
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(taskRepository.findViewPage(any(TaskFilter.class), isNull(), eq(EnumSet.of(TaskField.ID, TaskField.NAME,
+                TaskField.CREATED_AT, TaskField.VERSION)), eq(2)))
+            .thenReturn(List.of(new TaskView(1L, "a", null, null, createdAt, null, 0L),
+                new TaskView(2L, "b", null, null, createdAt, null, 0L)));
+
+        TaskViewPage page = taskService.getTaskViews(new TaskFilter(), null, 1, fields);
+
+        assertEquals(List.of(new TaskView(1L, "a", null, null, null, null, 0L)), page.getItems());
+        assertEquals(new TaskCursor(createdAt, 1L), TaskCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getTaskView_ShouldProjectCachedTask_WithoutQuery() {
+        Task cached = new Task();
+        cached.setId(3L);
+        cached.setName("Cached");
+        cached.setDescription("Long text");
+        cached.setVersion(4L);
+        taskCache.get(3L, () -> cached);
+
+        TaskView view = taskService.getTaskView(3L, EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.VERSION));
+
+        assertEquals(new TaskView(3L, "Cached", null, null, null, null, 4L), view);
+        verify(taskRepository, never()).findViewById(any(), any());
+    }
+
+    @Test
+    void getTaskView_ShouldThrowException_WhenTaskDoesNotExist() {
+        when(taskRepository.findViewById(9L, EnumSet.of(TaskField.ID))).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.getTaskView(9L, EnumSet.of(TaskField.ID)));
+    }
+
+    @Test
+    void exportTasks_ShouldPassEveryTaskToSinkAndDetachIt() {
+        Task task1 = new Task();
+        task1.setId(1L);
+        Task task2 = new Task();
+        task2.setId(2L);
+
+        when(taskRepository.streamAll()).thenReturn(Stream.of(task1, task2));
+
+        List<Task> exported = new ArrayList<>();
+        taskService.exportTasks(exported::add);
+
+        assertEquals(List.of(task1, task2), exported);
+        verify(entityManager, times(1)).detach(task1);
+        verify(entityManager, times(1)).detach(task2);
+    }
+
+    @Test
+    void searchTasks_ShouldReturnTasksInIndexOrder_SkippingDeletedOnes() {
+        Task task5 = new Task();
+        task5.setId(5L);
+        Task task9 = new Task();
+        task9.setId(9L);
+
+        when(taskSearchIndex.search("release", 20)).thenReturn(List.of(9L, 7L, 5L));
+        when(taskRepository.findAllById(List.of(9L, 7L, 5L))).thenReturn(List.of(task5, task9));
+
+        List<Task> result = taskService.searchTasks("release", null);
+
+        assertEquals(List.of(task9, task5), result);
+    }
+
+    @Test
+    void searchTasks_ShouldNotQueryRepository_WhenNothingMatches() {
+        when(taskSearchIndex.search("nothing", 5)).thenReturn(List.of());
+
+        assertEquals(List.of(), taskService.searchTasks("nothing", 5));
+        verify(taskRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchTasks_ShouldThrowException_WhenQueryEmptyOrLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" ", null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("x", 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks("x", TaskServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void submitTask_ShouldValidateAndEnqueueWithoutTouchingRepository() {
+        Task task = new Task();
+        task.setName("Async task");
+        TaskSubmission pending = TaskSubmission.pending("ticket");
+        when(taskWriteBehind.enqueue(task)).thenReturn(pending);
+
+        assertEquals(pending, taskService.submitTask(task));
+        assertEquals(TaskStatus.TODO, task.getStatus());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void submitTask_ShouldThrowException_WhenTaskIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.submitTask(new Task()));
+        verify(taskWriteBehind, never()).enqueue(any());
+    }
+
+    @Test
+    void getSubmission_ShouldThrowNotFound_WhenTicketUnknown() {
+        assertThrows(EntityNotFoundException.class, () -> taskService.getSubmission("missing"));
+    }
+
+    @Test
+    void getStats_ShouldSumCountersWithoutTouchingRepository() {
+        when(taskStatusCounters.counts()).thenReturn(Map.of(TaskStatus.TODO, 3L, TaskStatus.IN_PROGRESS, 2L, TaskStatus.DONE, 5L));
+
+        TaskStats stats = taskService.getStats();
+
+        assertEquals(10L, stats.getTotal());
+        assertEquals(3L, stats.getByStatus().get(TaskStatus.TODO));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void getTaskByID_ShouldReturnTask_WhenTaskExists() {
         Task mocTask = new Task();
@@ -77,6 +351,50 @@ public class TaskServiceImplTest {
         assertEquals("Some random task name", result.getName());
     }
 
+    @Test
+    void getTaskByID_ShouldServeRepeatedReadsFromCache() {
+        Task mocTask = new Task();
+        mocTask.setId(1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(mocTask));
+
+        taskService.getTaskByID(1L);
+        taskService.getTaskByID(1L);
+
+        verify(taskRepository, times(1)).findById(1L);
+        assertEquals(1L, taskCache.stats().getHitCount());
+        assertEquals(1L, taskCache.stats().getMissCount());
+    }
+
+    @Test
+    void getTaskByID_ShouldReload_AfterTaskChangedEvent() {
+        Task mocTask = new Task();
+        mocTask.setId(1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(mocTask));
+
+        taskService.getTaskByID(1L);
+        taskCache.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, mocTask, null, null));
+        taskService.getTaskByID(1L);
+
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void taskCache_ShouldNotStoreEntries_WhenDisabled() {
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setEnabled(false);
+        TaskCache disabledCache = new TaskCache(properties);
+        Task mocTask = new Task();
+        mocTask.setId(1L);
+
+        disabledCache.get(1L, () -> mocTask);
+        disabledCache.get(1L, () -> mocTask);
+
+        assertEquals(0L, disabledCache.stats().getSize());
+        assertEquals(0L, disabledCache.stats().getHitCount());
+    }
+
     @Test
     void getTaskByID_ShouldThrowException_WhenTaskNotFound() {
         when(taskRepository.findById(99L)).thenReturn(Optional.empty());
@@ -130,14 +448,49 @@ public class TaskServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> taskService.createTask(taskWithEmptyName));
     }
 
+    @Test
+    void createTasks_ShouldPersistValidTasksAndRejectInvalidOnes() {
+        Task valid = new Task();
+        valid.setName("Valid Task");
+        Task blank = new Task();
+        blank.setName(" ");
+
+        List<BatchItemResult> results = taskService.createTasks(Arrays.asList(valid, blank, null));
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(TaskStatus.TODO, results.get(0).getTask().getStatus());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals("Task name is required.", results.get(1).getError());
+        assertEquals(400, results.get(2).getStatus());
+
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void createTasks_ShouldThrowException_WhenBatchIsEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(null));
+    }
+
+    @Test
+    void createTasks_ShouldThrowException_WhenBatchIsTooLarge() {
+        List<Task> tasks = Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1, new Task());
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(tasks));
+    }
+
     @Test
     void updateTask_ShouldUpdateAndReturnTask_WhenValidTaskProvided() {
         Task existingTask = new Task();
         existingTask.setId(1L);
         existingTask.setName("Existing Task");
+        existingTask.setStatus(TaskStatus.TODO);
 
         Task updatedTask = new Task();
         updatedTask.setName("Updated Task");
+        updatedTask.setStatus(TaskStatus.DONE);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
         when(taskRepository.save(existingTask)).thenReturn(existingTask);
@@ -150,6 +503,8 @@ public class TaskServiceImplTest {
 
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(existingTask);
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, existingTask, TaskStatus.TODO, TaskStatus.DONE));
     }
 
     @Test
@@ -182,24 +537,147 @@ public class TaskServiceImplTest {
     }
 
     @Test
-    void deleteTask_ShouldDeleteTask_WhenTaskExists() {
+    void updateTask_ShouldThrowPreconditionFailed_WhenVersionDiffers() {
         Task existingTask = new Task();
         existingTask.setId(1L);
-        existingTask.setName("Existing Task");
+        existingTask.setVersion(4L);
+        Task updatedTask = new Task();
+        updatedTask.setName("Updated Task");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updatedTask, 3L));
+        verify(taskRepository, never()).save(existingTask);
+    }
+
+    @Test
+    void updateTask_ShouldThrowPreconditionFailed_WhenConcurrentWriterWins() {
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setVersion(3L);
+        Task updatedTask = new Task();
+        updatedTask.setName("Updated Task");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.saveAndFlush(existingTask)).thenThrow(new OptimisticLockingFailureException("stale"));
 
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(1L, updatedTask, 3L));
+    }
+
+    @Test
+    void getTaskVersion_ShouldUseProjection_WhenTaskNotCached() {
+        TaskVersion version = new TaskVersion(2L, LocalDateTime.now());
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+
+        assertEquals(version, taskService.getTaskVersion(1L));
+        verify(taskRepository, never()).findById(1L);
+    }
+
+    @Test
+    void deleteTask_ShouldDeleteByVersion_WhenIfMatchGiven() {
+        when(taskRepository.deleteByIdAndVersionReturningStatus(1L, 3L)).thenReturn(List.of("IN_PROGRESS"));
+
+        taskService.deleteTask(1L, 3L);
+
+        verify(taskRepository, never()).existsById(any());
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 1L, null, TaskStatus.IN_PROGRESS, null));
+    }
+
+    @Test
+    void deleteTask_ShouldThrowPreconditionFailed_WhenVersionDiffers() {
+        when(taskRepository.deleteByIdAndVersionReturningStatus(1L, 3L)).thenReturn(List.of());
         when(taskRepository.existsById(1L)).thenReturn(true);
 
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(1L, 3L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteTask_ShouldThrowNotFound_WhenVersionedDeleteFindsNothing() {
+        when(taskRepository.deleteByIdAndVersionReturningStatus(99L, 3L)).thenReturn(List.of());
+        when(taskRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.deleteTask(99L, 3L));
+    }
+
+    @Test
+    void deleteTask_ShouldDeleteTask_WhenTaskExists() {
+        when(taskRepository.deleteReturningStatus(1L)).thenReturn(List.of("DONE"));
+
         taskService.deleteTask(1L);
 
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.DELETED, 1L, null, TaskStatus.DONE, null));
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenTaskNotFound() {
-        when(taskRepository.existsById(99L)).thenReturn(false);
+        when(taskRepository.deleteReturningStatus(99L)).thenReturn(List.of());
 
         assertThrows(EntityNotFoundException.class, () -> taskService.deleteTask(99L));
+        verify(taskRepository, never()).existsById(any());
+    }
+
+    @Test
+    void patchTask_ShouldReturnPreviousRowMergedWithChanges() {
+        Task previous = new Task();
+        previous.setId(1L);
+        previous.setName("Old");
+        previous.setDescription("Keep me");
+        previous.setStatus(TaskStatus.TODO);
+        previous.setVersion(4L);
+        Task changes = new Task();
+        changes.setName("  New  ");
+        changes.setStatus(TaskStatus.DONE);
+        when(taskRepository.patchReturningPrevious(eq(1L), eq(changes), any(), eq(4L)))
+            .thenReturn(Optional.of(previous));
+
+        Task patched = taskService.patchTask(1L, changes, 4L);
+
+        assertEquals("New", patched.getName());
+        assertEquals("Keep me", patched.getDescription());
+        assertEquals(TaskStatus.DONE, patched.getStatus());
+        assertEquals(5L, patched.getVersion());
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, patched, TaskStatus.TODO, TaskStatus.DONE));
+    }
+
+    @Test
+    void patchTask_ShouldThrowPreconditionFailed_WhenVersionDiffers() {
+        Task changes = new Task();
+        changes.setDescription("x");
+        when(taskRepository.patchReturningPrevious(eq(1L), eq(changes), any(), eq(2L))).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.patchTask(1L, changes, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchTask_ShouldThrowNotFound_WhenTaskMissing() {
+        Task changes = new Task();
+        changes.setDescription("x");
+        when(taskRepository.patchReturningPrevious(eq(99L), eq(changes), any(), isNull())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.patchTask(99L, changes, null));
+    }
+
+    @Test
+    void patchTask_ShouldThrowException_WhenNothingToChange() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, new Task(), null));
+        verify(taskRepository, never()).patchReturningPrevious(any(), any(), any(), any());
+    }
+
+    @Test
+    void patchTask_ShouldThrowException_WhenNameIsBlank() {
+        Task changes = new Task();
+        changes.setName("   ");
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, changes, null));
     }
 
     @Test
@@ -217,4 +695,84 @@ public class TaskServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> taskService.deleteTask(0L));
     }
 
+    @Test
+    void bulkUpdateStatus_ShouldUpdateIdListInOneStatement() {
+        runTransactionsInline();
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+        request.setNewStatus(TaskStatus.DONE);
+
+        when(taskRepository.lockStatusesMatching(List.of(1L, 2L, 3L), null, null)).thenReturn(List.of(
+            new TaskIdStatus(1L, TaskStatus.TODO), new TaskIdStatus(2L, TaskStatus.DONE), new TaskIdStatus(3L, TaskStatus.TODO)));
+        when(taskRepository.updateStatusMatching(eq(List.of(1L, 2L, 3L)), isNull(), isNull(), eq(TaskStatus.DONE), any())).thenReturn(3);
+
+        assertEquals(3L, taskService.bulkUpdateStatus(request));
+        verify(taskRepository, times(1)).updateStatusMatching(eq(List.of(1L, 2L, 3L)), isNull(), isNull(), eq(TaskStatus.DONE), any());
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 1L, null, TaskStatus.TODO, TaskStatus.DONE));
+        verify(eventPublisher, times(1)).publishEvent(
+            new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 2L, null, TaskStatus.DONE, TaskStatus.DONE));
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldSkipStatement_WhenNoRowMatches() {
+        runTransactionsInline();
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setIds(List.of(7L));
+        request.setNewStatus(TaskStatus.DONE);
+
+        when(taskRepository.lockStatusesMatching(List.of(7L), null, null)).thenReturn(List.of());
+
+        assertEquals(0L, taskService.bulkUpdateStatus(request));
+        verify(taskRepository, never()).updateStatusMatching(any(), any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void bulkDelete_ShouldWalkFilterMatchesInChunks() {
+        runTransactionsInline();
+        LocalDateTime before = LocalDateTime.of(2025, 1, 1, 0, 0);
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setStatus(TaskStatus.DONE);
+        request.setCreatedBefore(before);
+
+        List<Long> firstChunk = LongStream.rangeClosed(1, 1000).boxed().toList();
+        when(taskRepository.findIdsMatching(0L, TaskStatus.DONE, before, Limit.of(1000))).thenReturn(firstChunk);
+        when(taskRepository.findIdsMatching(1000L, TaskStatus.DONE, before, Limit.of(1000))).thenReturn(List.of(1001L));
+        when(taskRepository.lockStatusesMatching(firstChunk, TaskStatus.DONE, before))
+            .thenReturn(firstChunk.stream().map(id -> new TaskIdStatus(id, TaskStatus.DONE)).toList());
+        when(taskRepository.lockStatusesMatching(List.of(1001L), TaskStatus.DONE, before))
+            .thenReturn(List.of(new TaskIdStatus(1001L, TaskStatus.DONE)));
+        when(taskRepository.deleteMatching(firstChunk, TaskStatus.DONE, before)).thenReturn(1000);
+        when(taskRepository.deleteMatching(List.of(1001L), TaskStatus.DONE, before)).thenReturn(1);
+
+        assertEquals(1001L, taskService.bulkDelete(request));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldThrowException_WhenNewStatusMissing() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setIds(List.of(1L));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateStatus(request));
+    }
+
+    @Test
+    void bulkDelete_ShouldThrowException_WhenNoTargetGiven() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkDelete(new BulkTaskRequest()));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkDelete(null));
+    }
+
+    @Test
+    void bulkDelete_ShouldThrowException_WhenIdIsInvalid() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setIds(List.of(1L, -1L));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkDelete(request));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
 }
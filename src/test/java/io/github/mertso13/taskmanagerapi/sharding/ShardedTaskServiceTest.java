@@ -0,0 +1,203 @@
+package io.github.mertso13.taskmanagerapi.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.BulkTaskRequest;
+import io.github.mertso13.taskmanagerapi.dto.TaskField;
+import io.github.mertso13.taskmanagerapi.dto.TaskFilter;
+import io.github.mertso13.taskmanagerapi.dto.TaskPage;
+import io.github.mertso13.taskmanagerapi.dto.TaskSort;
+import io.github.mertso13.taskmanagerapi.dto.TaskView;
+import io.github.mertso13.taskmanagerapi.dto.TaskViewPage;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+// The application over three in-memory H2 shards.
+@SpringBootTest(properties = {
+    "task.sharding.enabled=true",
+    "task.sharding.count=3",
+    "task.sharding.url=jdbc:h2:mem:sharded-test-{shard};DB_CLOSE_DELAY=-1",
+    "task.cache.enabled=false"
+})
+public class ShardedTaskServiceTest {
+
+    private static final int SHARDS = 3;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void clear() {
+        BulkTaskRequest all = new BulkTaskRequest();
+        all.setCreatedBefore(LocalDateTime.now().plusYears(1));
+        taskService.bulkDelete(all);
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    private static Task task(String name, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setName(name);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+
+    private List<Long> idsOnShard(int shard) {
+        return new JdbcTemplate(dataSource.shard(shard)).queryForList("select id from tasks order by id", Long.class);
+    }
+
+    private double connections(int shard) {
+        return registry.get("tasks.shard.connections").tag("shard", Integer.toString(shard)).functionCounter().count();
+    }
+
+    @Test
+    void createTask_ShouldSpreadTasksAndStoreEachOnTheShardItsIdNames() {
+        for (int i = 0; i < 6; i++) {
+            taskService.createTask(task("Task " + i, START.plusMinutes(i)));
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<Long> ids = idsOnShard(shard);
+            assertEquals(2, ids.size());
+            for (long id : ids) {
+                assertEquals(shard, Shards.of(id, SHARDS));
+            }
+        }
+    }
+
+    @Test
+    void singleTaskOperations_ShouldOnlyTouchTheOwningShard() {
+        Task created = taskService.createTask(task("Routed", START));
+        int owner = Shards.of(created.getId(), SHARDS);
+        double[] before = new double[SHARDS];
+        for (int shard = 0; shard < SHARDS; shard++) {
+            before[shard] = connections(shard);
+        }
+
+        assertEquals("Routed", taskService.getTaskByID(created.getId()).getName());
+        Task update = new Task();
+        update.setStatus(TaskStatus.DONE);
+        taskService.updateTask(created.getId(), update);
+        taskService.deleteTask(created.getId());
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(shard == owner ? 3.0 : 0.0, connections(shard) - before[shard], "shard " + shard);
+        }
+        assertThrows(EntityNotFoundException.class, () -> taskService.getTaskByID(created.getId()));
+    }
+
+    @Test
+    void getTasks_ShouldMergeShardPagesInSortOrder() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // Pairs share a timestamp, so the id tie-breaker decides across shards.
+            tasks.add(task("Task " + i, START.plusMinutes(i / 2)));
+        }
+        taskService.createTasks(tasks);
+
+        for (TaskSort sort : TaskSort.values()) {
+            List<Task> seen = new ArrayList<>();
+            String after = null;
+            do {
+                TaskPage page = taskService.getTasks(new TaskFilter(null, null, null, sort), after, 3);
+                seen.addAll(page.getItems());
+                after = page.getNextCursor();
+            } while (after != null);
+
+            List<Task> expected = new ArrayList<>(tasks);
+            expected.sort(sort.comparator(Task::getCreatedAt, Task::getId));
+            assertEquals(expected.stream().map(Task::getId).toList(), seen.stream().map(Task::getId).toList(), sort.name());
+        }
+    }
+
+    @Test
+    void getTaskViews_ShouldMergeByCreatedAt_WithoutReturningIt() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(task("Task " + i, START.plusMinutes(i)));
+        }
+        taskService.createTasks(tasks);
+
+        List<TaskView> seen = new ArrayList<>();
+        String after = null;
+        do {
+            TaskViewPage page = taskService.getTaskViews(new TaskFilter(), after, 3, TaskField.parse("name"));
+            seen.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertEquals(tasks.stream().map(Task::getName).toList(), seen.stream().map(TaskView::name).toList());
+        assertTrue(seen.stream().allMatch(view -> view.createdAt() == null && view.id() != null));
+    }
+
+    @Test
+    void createTasks_ShouldKeepTheRequestIndexes() {
+        List<BatchItemResult> results = taskService.createTasks(List.of(
+            task("First", START), task("Second", START), task(" ", START), task("Fourth", START)));
+
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BatchItemResult::getIndex).toList());
+        assertEquals(400, results.get(2).getStatus());
+        assertEquals("Fourth", results.get(3).getTask().getName());
+    }
+
+    @Test
+    void searchTasks_ShouldGatherMatchesFromEveryShardNewestFirst() {
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(task("Quokka " + i, START));
+        }
+        taskService.createTask(task("Unrelated", START));
+
+        List<Task> found = taskService.searchTasks("quokka", 10);
+
+        assertEquals(5, found.size());
+        assertEquals(found.stream().sorted(Comparator.comparing(Task::getId).reversed()).toList(), found);
+        assertEquals(SHARDS, found.stream().map(task -> Shards.of(task.getId(), SHARDS)).distinct().count());
+    }
+
+    @Test
+    void bulkOperations_ShouldSplitIdsAndSumAcrossShards() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(taskService.createTask(task("Bulk " + i, START)).getId());
+        }
+
+        BulkTaskRequest byIds = new BulkTaskRequest();
+        byIds.setIds(ids.subList(0, 4));
+        byIds.setNewStatus(TaskStatus.IN_PROGRESS);
+        assertEquals(4, taskService.bulkUpdateStatus(byIds));
+
+        BulkTaskRequest byFilter = new BulkTaskRequest();
+        byFilter.setStatus(TaskStatus.TODO);
+        assertEquals(3, taskService.bulkDelete(byFilter));
+
+        TaskPage remaining = taskService.getTasks(null, 100);
+        assertEquals(4, remaining.getItems().size());
+        assertNull(remaining.getNextCursor());
+        assertTrue(remaining.getItems().stream().allMatch(task -> task.getStatus() == TaskStatus.IN_PROGRESS));
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.mertso13.taskmanagerapi.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.github.mertso13.taskmanagerapi.config.TaskSnapshotProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskSnapshotStats;
+
+public class TaskSnapshotTest {
+
+    private static final String ALL_TASKS =
+        "select id, version, status, created_at, updated_at, name, description from tasks order by id";
+
+    @TempDir
+    private Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskSnapshotProperties properties;
+    private TaskSnapshot taskSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        properties = new TaskSnapshotProperties();
+        properties.setPath(dir.resolve("tasks.snapshot"));
+        taskSnapshot = new TaskSnapshot(dataSource, properties);
+    }
+
+    private void insert(long id, Long version, String status, String name, String description) {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000).plusMinutes(id);
+        jdbcTemplate.update("insert into tasks (id, version, status, created_at, updated_at, name, description) "
+            + "values (?, ?, ?, ?, ?, ?, ?)", id, version, status, created, created.plusSeconds(5), name, description);
+    }
+
+    @Test
+    void restore_ShouldReproduceEveryColumn() {
+        insert(1, 0L, "TODO", "Plain", "With description");
+        insert(2, null, "DONE", "Ünïcödé ✓", null);
+        insert(51, 7L, "IN_PROGRESS", "Long", "x".repeat(3 * (1 << 20)));
+        List<Map<String, Object>> before = jdbcTemplate.queryForList(ALL_TASKS);
+
+        TaskSnapshotStats written = taskSnapshot.write();
+        jdbcTemplate.update("delete from tasks");
+        TaskSnapshotStats restored = taskSnapshot.restore(properties.getPath());
+
+        assertEquals(3, written.tasks());
+        assertEquals(3, restored.tasks());
+        assertEquals(written.bytes(), restored.bytes());
+        assertEquals(before, jdbcTemplate.queryForList(ALL_TASKS));
+    }
+
+    @Test
+    void restore_ShouldMoveSequencePastRestoredIds() {
+        insert(120, 0L, "TODO", "Task", null);
+        taskSnapshot.write();
+        jdbcTemplate.update("delete from tasks");
+
+        taskSnapshot.restore(properties.getPath());
+
+        // Hibernate's pooled optimizer hands out (value - 49) .. value for each sequence value.
+        Long next = jdbcTemplate.queryForObject("select next value for tasks_seq", Long.class);
+        assertTrue(next - 49 > 120, "sequence value " + next);
+    }
+
+    @Test
+    void restoreOnStartup_ShouldSkip_WhenTableIsNotEmpty() {
+        insert(1, 0L, "TODO", "Task", null);
+        taskSnapshot.write();
+        properties.setRestoreOnStartup(true);
+
+        taskSnapshot.restoreOnStartup();
+
+        assertEquals(1L, jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+    }
+
+    @Test
+    void restoreOnStartup_ShouldLoadSnapshot_WhenTableIsEmpty() {
+        for (long id = 1; id <= 2500; id++) {
+            insert(id, 0L, "TODO", "Task " + id, null);
+        }
+        taskSnapshot.write();
+        jdbcTemplate.update("delete from tasks");
+        properties.setRestoreOnStartup(true);
+
+        taskSnapshot.restoreOnStartup();
+
+        assertEquals(2500L, jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+    }
+
+    @Test
+    void restore_ShouldRollBack_WhenSnapshotIsTruncated() throws Exception {
+        insert(1, 0L, "TODO", "First", null);
+        insert(2, 0L, "TODO", "Second", null);
+        taskSnapshot.write();
+        byte[] bytes = Files.readAllBytes(properties.getPath());
+        Files.write(properties.getPath(), Arrays.copyOf(bytes, bytes.length - 3));
+        jdbcTemplate.update("delete from tasks");
+
+        assertThrows(UncheckedIOException.class, () -> taskSnapshot.restore(properties.getPath()));
+        assertEquals(0L, jdbcTemplate.queryForObject("select count(*) from tasks", Long.class));
+    }
+
+    @Test
+    void restore_ShouldRejectForeignFile() throws Exception {
+        Files.writeString(properties.getPath(), "not a snapshot at all");
+
+        assertThrows(IllegalStateException.class, () -> taskSnapshot.restore(properties.getPath()));
+    }
+}
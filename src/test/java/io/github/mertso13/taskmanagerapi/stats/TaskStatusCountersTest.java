@@ -0,0 +1,138 @@
+package io.github.mertso13.taskmanagerapi.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.mertso13.taskmanagerapi.config.TaskShardingProperties;
+import io.github.mertso13.taskmanagerapi.dto.TaskStatusCount;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent;
+import io.github.mertso13.taskmanagerapi.event.TaskChangedEvent.Type;
+import io.github.mertso13.taskmanagerapi.model.TaskStatus;
+import io.github.mertso13.taskmanagerapi.repository.TaskRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatusCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskShardingProperties shardingProperties = new TaskShardingProperties();
+
+    @InjectMocks
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    void seed() {
+        when(taskRepository.countByStatus()).thenReturn(List.of(
+            new TaskStatusCount(TaskStatus.TODO, 4L), new TaskStatusCount(TaskStatus.DONE, 1L)));
+        counters.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldSeedFromGroupBy() {
+        assertEquals(Map.of(TaskStatus.TODO, 4L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 1L), counters.counts());
+    }
+
+    @Test
+    void onTaskChanged_ShouldMoveCountsOnCreateStatusChangeAndDelete() {
+        counters.onTaskChanged(new TaskChangedEvent(Type.CREATED, 10L, null, null, TaskStatus.TODO));
+        counters.onTaskChanged(new TaskChangedEvent(Type.UPDATED, 10L, null, TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        counters.onTaskChanged(new TaskChangedEvent(Type.UPDATED, 1L, null, TaskStatus.TODO, TaskStatus.TODO));
+        counters.onTaskChanged(new TaskChangedEvent(Type.DELETED, 2L, null, TaskStatus.DONE, null));
+
+        assertEquals(Map.of(TaskStatus.TODO, 4L, TaskStatus.IN_PROGRESS, 1L, TaskStatus.DONE, 0L), counters.counts());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift() {
+        counters.onTaskChanged(new TaskChangedEvent(Type.CREATED, 10L, null, null, TaskStatus.TODO));
+        when(taskRepository.countByStatus()).thenReturn(List.of(
+            new TaskStatusCount(TaskStatus.TODO, 2L), new TaskStatusCount(TaskStatus.IN_PROGRESS, 3L)));
+
+        counters.reconcile();
+
+        assertEquals(Map.of(TaskStatus.TODO, 2L, TaskStatus.IN_PROGRESS, 3L, TaskStatus.DONE, 0L), counters.counts());
+    }
+
+    @Test
+    void reconcile_ShouldSumEveryShard() {
+        shardingProperties.setEnabled(true);
+        shardingProperties.setCount(3);
+
+        counters.reconcile();
+
+        assertEquals(Map.of(TaskStatus.TODO, 12L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 3L), counters.counts());
+    }
+
+    @Test
+    void reconcile_ShouldWaitForWriteCommittedButNotYetApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.onTaskChanged(new TaskChangedEvent(Type.CREATED, 10L, null, null, TaskStatus.TODO));
+        // The GROUP BY already sees the commit, the counters do not yet.
+        when(taskRepository.countByStatus()).thenReturn(List.of(
+            new TaskStatusCount(TaskStatus.TODO, 5L), new TaskStatusCount(TaskStatus.DONE, 1L)));
+
+        counters.reconcile();
+        assertEquals(4L, counters.counts().get(TaskStatus.TODO));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        counters.reconcile();
+
+        assertEquals(Map.of(TaskStatus.TODO, 5L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 1L), counters.counts());
+    }
+
+    @Test
+    void reconcile_ShouldKeepEventAppliedDuringGroupBy() {
+        AtomicInteger calls = new AtomicInteger();
+        when(taskRepository.countByStatus()).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                // Commits and is applied after the GROUP BY read its rows.
+                counters.onTaskChanged(new TaskChangedEvent(Type.CREATED, 10L, null, null, TaskStatus.TODO));
+                return List.of(new TaskStatusCount(TaskStatus.TODO, 4L), new TaskStatusCount(TaskStatus.DONE, 1L));
+            }
+            return List.of(new TaskStatusCount(TaskStatus.TODO, 5L), new TaskStatusCount(TaskStatus.DONE, 1L));
+        });
+
+        counters.reconcile();
+
+        assertEquals(Map.of(TaskStatus.TODO, 5L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 1L), counters.counts());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void onTaskChanged_ShouldIgnoreRolledBackWrite() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.onTaskChanged(new TaskChangedEvent(Type.CREATED, 10L, null, null, TaskStatus.TODO));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        counters.reconcile();
+
+        assertEquals(4L, counters.counts().get(TaskStatus.TODO));
+    }
+}
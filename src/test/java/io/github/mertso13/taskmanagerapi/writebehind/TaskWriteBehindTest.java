@@ -0,0 +1,141 @@
+package io.github.mertso13.taskmanagerapi.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.github.mertso13.taskmanagerapi.config.TaskWriteBehindProperties;
+import io.github.mertso13.taskmanagerapi.dto.BatchItemResult;
+import io.github.mertso13.taskmanagerapi.dto.TaskSubmission;
+import io.github.mertso13.taskmanagerapi.exception.TooManyRequestsException;
+import io.github.mertso13.taskmanagerapi.model.Task;
+import io.github.mertso13.taskmanagerapi.service.TaskService;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskWriteBehindTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ObjectProvider<TaskService> taskServiceProvider;
+
+    private TaskWriteBehindProperties properties;
+    private TaskWriteBehind writeBehind;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskWriteBehindProperties();
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(2);
+        properties.setMaxDelay(Duration.ofMillis(20));
+        writeBehind = new TaskWriteBehind(properties, taskServiceProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.stop();
+    }
+
+    @Test
+    void enqueue_ShouldReject_WhenNotRunning() {
+        assertThrows(TooManyRequestsException.class, () -> writeBehind.enqueue(task("a")));
+    }
+
+    @Test
+    void enqueue_ShouldRejectWith429_WhenQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskServiceProvider.getObject()).thenReturn(taskService);
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return List.of();
+        });
+        writeBehind.start();
+
+        // The writer takes the first task and blocks in createTasks; the next three fill the queue.
+        writeBehind.enqueue(task("a"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (String name : List.of("b", "c", "d")) {
+            writeBehind.enqueue(task(name));
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> writeBehind.enqueue(task("e")));
+        assertEquals(properties.getMaxDelay(), ex.getRetryAfter());
+        assertEquals(3, writeBehind.queueDepth());
+        release.countDown();
+    }
+
+    @Test
+    void stop_ShouldGroupCommitAndDrainQueuedTasks() {
+        stubCreateTasks();
+        writeBehind.start();
+
+        List<TaskSubmission> submissions = new ArrayList<>();
+        for (String name : List.of("a", "b", "c")) {
+            submissions.add(writeBehind.enqueue(task(name)));
+        }
+        writeBehind.stop();
+
+        assertEquals(3, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 2));
+        for (TaskSubmission submission : submissions) {
+            TaskSubmission result = writeBehind.getSubmission(submission.getTicket());
+            assertEquals(TaskSubmission.State.CREATED, result.getState());
+        }
+        assertEquals(0, writeBehind.queueDepth());
+    }
+
+    @Test
+    void flush_ShouldFailEveryTicket_WhenGroupCommitThrows() {
+        when(taskServiceProvider.getObject()).thenReturn(taskService);
+        when(taskService.createTasks(anyList())).thenThrow(new IllegalStateException("database down"));
+        writeBehind.start();
+
+        TaskSubmission submission = writeBehind.enqueue(task("a"));
+        writeBehind.stop();
+
+        TaskSubmission result = writeBehind.getSubmission(submission.getTicket());
+        assertEquals(TaskSubmission.State.FAILED, result.getState());
+        assertEquals("Something went wrong.", result.getError());
+    }
+
+    private void stubCreateTasks() {
+        when(taskServiceProvider.getObject()).thenReturn(taskService);
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            batchSizes.add(tasks.size());
+            List<BatchItemResult> results = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId((long) (batchSizes.size() * 10 + i));
+                results.add(BatchItemResult.created(i, tasks.get(i)));
+            }
+            return results;
+        });
+    }
+
+    private static Task task(String name) {
+        Task task = new Task();
+        task.setName(name);
+        return task;
+    }
+}